@@ -1,12 +1,15 @@
 package ru.yandex.practicum.filmorate.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.yandex.practicum.filmorate.dto.film.FilmDto;
 import ru.yandex.practicum.filmorate.dto.film.NewFilmRequest;
 import ru.yandex.practicum.filmorate.dto.film.UpdateFilmRequest;
@@ -21,6 +24,7 @@ import java.util.List;
 @RequestMapping("/films")
 public class FilmController {
     private final FilmService filmService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -34,9 +38,17 @@ public class FilmController {
     }
 
     @GetMapping
-    public ResponseEntity<List<FilmDto>> getFilms() {
-        System.out.println(filmService.getFilms().stream().map(FilmDto::getId).toList());
-        return ResponseEntity.ok().body(filmService.getFilms());
+    public ResponseEntity<List<FilmDto>> getFilms(@RequestParam(name = "afterId", required = false) Long afterId,
+                                                  @RequestParam(name = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok().body(filmService.getFilms(afterId, limit));
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamFilms(@RequestParam(name = "afterId", required = false) Long afterId,
+                                                             @RequestParam(name = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(JsonArrayResponse.of(objectMapper, filmService.streamFilms(afterId, limit)));
     }
 
     @GetMapping("/{id}")
@@ -66,19 +78,7 @@ public class FilmController {
     public ResponseEntity<List<FilmDto>> getFilmsPopular(@RequestParam(name = "count", required = false, defaultValue = "10") int count,
                                                          @RequestParam(name = "genreId", required = false) Long genreId,
                                                          @RequestParam(name = "year", required = false) Integer year) {
-        if (genreId != null && year != null) {
-            List<FilmDto> popularFilms = filmService.getFilmsPopularByGenreIdAndYear(count, genreId, year);
-            return ResponseEntity.ok().body(popularFilms);
-        } else if (genreId != null) {
-            List<FilmDto> popularFilmsByGenre = filmService.getFilmsPopularByGenreId(count, genreId);
-            return ResponseEntity.ok().body(popularFilmsByGenre);
-        } else if (year != null) {
-            List<FilmDto> popularsFilmsByYear = filmService.getFilmsPopularByYear(count, year);
-            return ResponseEntity.ok().body(popularsFilmsByYear);
-        } else {
-            List<FilmDto> popularFilms = filmService.getFilmsPopular(count);
-            return ResponseEntity.ok().body(popularFilms);
-        }
+        return ResponseEntity.ok().body(filmService.getFilmsPopular(count, genreId, year));
     }
 
     @GetMapping("/director/{directorId}")
@@ -0,0 +1,31 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+final class JsonArrayResponse {
+    private static final int FLUSH_EVERY = 100;
+
+    private JsonArrayResponse() {
+    }
+
+    static StreamingResponseBody of(ObjectMapper objectMapper, Stream<?> items) {
+        return out -> {
+            try (items; SequenceWriter writer = objectMapper.writer().writeValuesAsArray(out)) {
+                Iterator<?> iterator = items.iterator();
+                int written = 0;
+
+                while (iterator.hasNext()) {
+                    writer.write(iterator.next());
+                    if (++written % FLUSH_EVERY == 0) {
+                        writer.flush();
+                    }
+                }
+            }
+        };
+    }
+}
@@ -1,11 +1,14 @@
 package ru.yandex.practicum.filmorate.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.yandex.practicum.filmorate.dto.event.EventDto;
 import ru.yandex.practicum.filmorate.dto.film.FilmDto;
 import ru.yandex.practicum.filmorate.dto.user.NewUserRequest;
@@ -21,6 +24,7 @@ import java.util.List;
 @RequestMapping("/users")
 public class UserController {
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -34,8 +38,17 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UserDto>> getUsers() {
-        return ResponseEntity.ok().body(userService.getUsers());
+    public ResponseEntity<List<UserDto>> getUsers(@RequestParam(name = "afterId", required = false) Long afterId,
+                                                  @RequestParam(name = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok().body(userService.getUsers(afterId, limit));
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamUsers(@RequestParam(name = "afterId", required = false) Long afterId,
+                                                             @RequestParam(name = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(JsonArrayResponse.of(objectMapper, userService.streamUsers(afterId, limit)));
     }
 
     @GetMapping("/{userId}")
@@ -72,12 +85,24 @@ public class UserController {
     }
 
     @GetMapping("/{userId}/feed")
-    public ResponseEntity<List<EventDto>> getUserFeed(@PathVariable("userId") Long userId) {
-        return ResponseEntity.ok().body(userService.getUserFeed(userId));
+    public ResponseEntity<List<EventDto>> getUserFeed(@PathVariable("userId") Long userId,
+                                                      @RequestParam(name = "afterEventId", required = false) Long afterEventId,
+                                                      @RequestParam(name = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok().body(userService.getUserFeed(userId, afterEventId, limit));
+    }
+
+    @GetMapping(path = "/{userId}/feed", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamUserFeed(@PathVariable("userId") Long userId,
+                                                                @RequestParam(name = "afterEventId", required = false) Long afterEventId,
+                                                                @RequestParam(name = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(JsonArrayResponse.of(objectMapper, userService.streamUserFeed(userId, afterEventId, limit)));
     }
 
     @GetMapping("/{userId}/recommendations")
-    public ResponseEntity<List<FilmDto>> getRecommendations(@PathVariable("userId") Long userId) {
-        return ResponseEntity.ok().body(userService.getRecommendations(userId));
+    public ResponseEntity<List<FilmDto>> getRecommendations(@PathVariable("userId") Long userId,
+                                                            @RequestParam(name = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok().body(userService.getRecommendations(userId, limit));
     }
 }
\ No newline at end of file
@@ -1,11 +1,16 @@
 package ru.yandex.practicum.filmorate.dal.db.base;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.util.ClassUtils;
+import ru.yandex.practicum.filmorate.dal.db.base.RepositoryMetrics.QueryOperation;
 import ru.yandex.practicum.filmorate.exception.InternalServerException;
 
 import java.sql.PreparedStatement;
@@ -18,12 +23,20 @@ import java.util.Optional;
 public class BaseDbRepositoryImpl<T> implements BaseDbRepository<T> {
     protected final JdbcTemplate jdbc;
     protected final RowMapper<T> mapper;
+    protected RepositoryMetrics metrics = RepositoryMetrics.NOOP;
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry registry, @Value("${filmorate.metrics.enabled:true}") boolean enabled) {
+        if (enabled) {
+            metrics = new RepositoryMetrics(registry, ClassUtils.getUserClass(getClass()));
+        }
+    }
 
     @Override
     public long insert(String query, Object... params) {
         GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
 
-        jdbc.update(connection -> {
+        metrics.record(QueryOperation.INSERT, query, () -> jdbc.update(connection -> {
             PreparedStatement ps = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
 
             for (int idx = 0; idx < params.length; idx++) {
@@ -31,7 +44,7 @@ public class BaseDbRepositoryImpl<T> implements BaseDbRepository<T> {
             }
 
             return ps;
-        }, keyHolder);
+        }, keyHolder));
 
         Number key = keyHolder.getKey();
 
@@ -47,7 +60,7 @@ public class BaseDbRepositoryImpl<T> implements BaseDbRepository<T> {
 
     @Override
     public void update(String query, Object... params) {
-        int rowsUpdated = jdbc.update(query, params);
+        int rowsUpdated = metrics.record(QueryOperation.UPDATE, query, () -> jdbc.update(query, params));
 
         if (rowsUpdated == 0) {
             log.error("Не удалось обновить данные пользователя");
@@ -60,7 +73,7 @@ public class BaseDbRepositoryImpl<T> implements BaseDbRepository<T> {
     @Override
     public Optional<T> findOne(String query, Object... params) {
         try {
-            T result = jdbc.queryForObject(query, mapper, params);
+            T result = metrics.record(QueryOperation.FIND_ONE, query, () -> jdbc.queryForObject(query, mapper, params));
             return Optional.ofNullable(result);
         } catch (EmptyResultDataAccessException ignored) {
             return Optional.empty();
@@ -69,12 +82,12 @@ public class BaseDbRepositoryImpl<T> implements BaseDbRepository<T> {
 
     @Override
     public List<T> findMany(String query, Object... params) {
-        return jdbc.query(query, mapper, params);
+        return metrics.record(QueryOperation.FIND_MANY, query, () -> jdbc.query(query, mapper, params));
     }
 
     @Override
     public boolean delete(String query, Long id) {
-        int rowsDeleted = jdbc.update(query, id);
+        int rowsDeleted = metrics.record(QueryOperation.DELETE, query, () -> jdbc.update(query, id));
         return rowsDeleted > 0;
     }
 }
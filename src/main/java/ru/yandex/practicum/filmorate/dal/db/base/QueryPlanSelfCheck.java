@@ -0,0 +1,142 @@
+package ru.yandex.practicum.filmorate.dal.db.base;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+public class QueryPlanSelfCheck {
+    private static final String DAL_PACKAGE = "ru.yandex.practicum.filmorate.dal";
+    private static final String TABLE_SCAN = ".tableScan";
+    private static final Pattern STATEMENT = Pattern.compile("^\\s*(SELECT|INSERT|UPDATE|DELETE|MERGE)\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern FILTER = Pattern.compile("\\bWHERE\\b", Pattern.CASE_INSENSITIVE);
+
+    private final JdbcTemplate jdbc;
+    private final ApplicationContext context;
+    private final boolean enabled;
+
+    public QueryPlanSelfCheck(JdbcTemplate jdbc, ApplicationContext context,
+                              @Value("${filmorate.sql.plan-check.enabled:true}") boolean enabled) {
+        this.jdbc = jdbc;
+        this.context = context;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            check();
+        }
+    }
+
+    public List<QueryPlan> check() {
+        List<QueryPlan> plans = new ArrayList<>();
+
+        for (Class<?> type : findDalClasses()) {
+            for (Field field : type.getDeclaredFields()) {
+                String sql = readQuery(field);
+                if (sql != null) {
+                    explain(type.getSimpleName() + "." + field.getName(), sql).ifPresent(plans::add);
+                }
+            }
+        }
+
+        List<QueryPlan> suspicious = plans.stream().filter(QueryPlan::isSuspicious).toList();
+        suspicious.forEach(plan -> log.warn("Запрос {} с условием выполняется полным просмотром таблицы: {}",
+                plan.source(), plan.plan()));
+        log.info("Проверка планов запросов завершена, проверено: {}, полных просмотров по условию: {}",
+                plans.size(), suspicious.size());
+
+        return plans;
+    }
+
+    private Set<Class<?>> findDalClasses() {
+        Set<Class<?>> types = new LinkedHashSet<>();
+
+        for (String name : context.getBeanDefinitionNames()) {
+            Class<?> type = context.getType(name);
+            if (type != null) {
+                Class<?> userType = ClassUtils.getUserClass(type);
+                if (userType.getPackageName().startsWith(DAL_PACKAGE)) {
+                    types.add(userType);
+                }
+            }
+        }
+
+        return types.stream()
+                .sorted(Comparator.comparing(Class::getName))
+                .collect(LinkedHashSet::new, Set::add, Set::addAll);
+    }
+
+    private static String readQuery(Field field) {
+        int modifiers = field.getModifiers();
+        if (field.getType() != String.class || !Modifier.isStatic(modifiers) || !Modifier.isFinal(modifiers)) {
+            return null;
+        }
+
+        try {
+            field.setAccessible(true);
+            String value = (String) field.get(null);
+            return value != null && STATEMENT.matcher(value).find() ? value : null;
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private Optional<QueryPlan> explain(String source, String sql) {
+        String statement = "EXPLAIN " + sql.replace("%s", "?").strip().replaceAll(";$", "");
+
+        try {
+            String plan = jdbc.execute((Connection connection) -> {
+                try (PreparedStatement ps = connection.prepareStatement(statement)) {
+                    int parameters = ps.getParameterMetaData().getParameterCount();
+                    for (int i = 1; i <= parameters; i++) {
+                        ps.setObject(i, null);
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        StringBuilder result = new StringBuilder();
+                        while (rs.next()) {
+                            result.append(rs.getString(1));
+                        }
+                        return result.toString();
+                    }
+                }
+            });
+            return Optional.of(new QueryPlan(source, plan, FILTER.matcher(sql).find()));
+        } catch (DataAccessException e) {
+            log.debug("Не удалось получить план запроса {}: {}", source, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public record QueryPlan(String source, String plan, boolean filtered) {
+        public boolean isTableScan() {
+            return plan != null && plan.contains(TABLE_SCAN);
+        }
+
+        public boolean isSuspicious() {
+            return filtered && isTableScan();
+        }
+    }
+}
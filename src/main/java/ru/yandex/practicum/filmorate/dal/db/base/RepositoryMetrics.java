@@ -0,0 +1,130 @@
+package ru.yandex.practicum.filmorate.dal.db.base;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public final class RepositoryMetrics {
+    public static final String QUERY_TIMER = "filmorate.repository.query";
+    public static final String QUERY_ERRORS = "filmorate.repository.errors";
+    public static final String ROWS_SUMMARY = "filmorate.repository.rows";
+    public static final String DYNAMIC_QUERY = "dynamic";
+
+    static final RepositoryMetrics NOOP = new RepositoryMetrics(null, BaseDbRepositoryImpl.class);
+
+    private final MeterRegistry registry;
+    private final String repository;
+    private final Map<String, String> queryNames;
+    private final ConcurrentMap<String, Timer[]> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DistributionSummary> rows = new ConcurrentHashMap<>();
+
+    public enum QueryOperation {
+        INSERT,
+        UPDATE,
+        FIND_ONE,
+        FIND_MANY,
+        DELETE;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    public RepositoryMetrics(MeterRegistry registry, Class<?> repositoryType) {
+        this.registry = registry;
+        this.repository = repositoryType.getSimpleName();
+        this.queryNames = registry == null ? Map.of() : findQueryNames(repositoryType);
+    }
+
+    public <R> R record(QueryOperation operation, String query, Supplier<R> action) {
+        if (registry == null) {
+            return action.get();
+        }
+
+        String queryName = queryName(query);
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            Counter.builder(QUERY_ERRORS)
+                    .tag("repository", repository)
+                    .tag("operation", operation.tag)
+                    .tag("query", queryName)
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(registry)
+                    .increment();
+            throw e;
+        } finally {
+            timer(operation, queryName).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void recordRows(String operation, int count) {
+        if (registry == null) {
+            return;
+        }
+
+        rows.computeIfAbsent(operation, key -> DistributionSummary.builder(ROWS_SUMMARY)
+                        .baseUnit("rows")
+                        .tag("repository", repository)
+                        .tag("operation", key)
+                        .register(registry))
+                .record(count);
+    }
+
+    String queryName(String query) {
+        return queryNames.getOrDefault(query, DYNAMIC_QUERY);
+    }
+
+    private Timer timer(QueryOperation operation, String queryName) {
+        Timer[] byOperation = timers.computeIfAbsent(queryName, key -> new Timer[QueryOperation.values().length]);
+        Timer timer = byOperation[operation.ordinal()];
+        if (timer == null) {
+            timer = Timer.builder(QUERY_TIMER)
+                    .tag("repository", repository)
+                    .tag("operation", operation.tag)
+                    .tag("query", queryName)
+                    .register(registry);
+            byOperation[operation.ordinal()] = timer;
+        }
+        return timer;
+    }
+
+    private static Map<String, String> findQueryNames(Class<?> repositoryType) {
+        Map<String, String> names = new HashMap<>();
+
+        for (Class<?> type = repositoryType; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                String value = readConstant(field);
+                if (value != null) {
+                    names.putIfAbsent(value, field.getName());
+                }
+            }
+        }
+
+        return Map.copyOf(names);
+    }
+
+    private static String readConstant(Field field) {
+        int modifiers = field.getModifiers();
+        if (field.getType() != String.class || !Modifier.isStatic(modifiers) || !Modifier.isFinal(modifiers)) {
+            return null;
+        }
+
+        try {
+            field.setAccessible(true);
+            return (String) field.get(null);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+}
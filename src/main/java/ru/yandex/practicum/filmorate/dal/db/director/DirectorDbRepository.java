@@ -6,20 +6,31 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 import ru.yandex.practicum.filmorate.dal.db.base.BaseDbRepositoryImpl;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dal.index.FilmSearchIndex;
 import ru.yandex.practicum.filmorate.exception.NotFoundException;
 import ru.yandex.practicum.filmorate.model.Director;
 import ru.yandex.practicum.filmorate.model.Film;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
 @Slf4j
 public class DirectorDbRepository extends BaseDbRepositoryImpl<Director> {
+    private final FilmSearchIndex searchIndex;
+    private final EntityCache entityCache;
 
-    public DirectorDbRepository(JdbcTemplate jdbc, RowMapper<Director> mapper) {
+    public DirectorDbRepository(JdbcTemplate jdbc, RowMapper<Director> mapper, FilmSearchIndex searchIndex,
+                                EntityCache entityCache) {
         super(jdbc, mapper);
+        this.searchIndex = searchIndex;
+        this.entityCache = entityCache;
     }
 
     @Language("SQL")
@@ -34,6 +45,12 @@ public class DirectorDbRepository extends BaseDbRepositoryImpl<Director> {
             WHERE id = ?
             """;
     @Language("SQL")
+    private static final String FIND_DIRECTORS_BY_IDS_QUERY = """
+            SELECT *
+            FROM directors
+            WHERE id IN (%s)
+            """;
+    @Language("SQL")
     private static final String INSERT_DIRECTOR_QUERY = """
             INSERT INTO directors (name)
             VALUES (?)
@@ -73,9 +90,37 @@ public class DirectorDbRepository extends BaseDbRepositoryImpl<Director> {
         return findOne(FIND_DIRECTOR_QUERY, directorId);
     }
 
+    public Set<Director> resolveDirectors(Set<Director> directors) {
+        if (directors == null || directors.isEmpty()) {
+            return new LinkedHashSet<>();
+        }
+
+        List<Long> directorIds = directors.stream()
+                .map(Director::getId)
+                .distinct()
+                .toList();
+        String inSql = directorIds.stream()
+                .map(id -> "?")
+                .collect(Collectors.joining(", "));
+        Map<Long, Director> found = findMany(FIND_DIRECTORS_BY_IDS_QUERY.formatted(inSql), directorIds.toArray()).stream()
+                .collect(Collectors.toMap(Director::getId, Function.identity()));
+
+        Set<Director> resolved = new LinkedHashSet<>();
+        for (Long directorId : directorIds) {
+            Director director = found.get(directorId);
+            if (director == null) {
+                throw new NotFoundException("Режиссер с ID= " + directorId + " - не найден");
+            }
+            resolved.add(director);
+        }
+
+        return resolved;
+    }
+
     public void addDirector(Director director) {
         long id = insert(INSERT_DIRECTOR_QUERY, director.getName());
         director.setId(id);
+        searchIndex.putDirector(director);
     }
 
     public Director updateDirector(Director director) {
@@ -86,6 +131,8 @@ public class DirectorDbRepository extends BaseDbRepositoryImpl<Director> {
             log.warn("Ошибка обновления режиссера directorId= {}. Фильм не найден", director.getId());
             throw new NotFoundException("Ошибка после обновления — режиссер не найден не найден");
         }
+        searchIndex.putDirector(updatedDirector.get());
+        entityCache.evictAllFilms();
         return updatedDirector.get();
     }
 
@@ -94,6 +141,8 @@ public class DirectorDbRepository extends BaseDbRepositoryImpl<Director> {
             throw new NotFoundException("Режиссер с ID= " + directorId + " - не найден");
         }
         delete(DELETE_DIRECTOR_QUERY, directorId);
+        searchIndex.removeDirector(directorId);
+        entityCache.evictAllFilms();
     }
 
     public void removeALLDirectors(Film film) {
@@ -5,17 +5,19 @@ import org.intellij.lang.annotations.Language;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.yandex.practicum.filmorate.dal.db.base.BaseDbRepositoryImpl;
 import ru.yandex.practicum.filmorate.dto.event.NewEventRequest;
-import ru.yandex.practicum.filmorate.exception.InternalServerException;
 import ru.yandex.practicum.filmorate.model.Event;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 @Slf4j
 public class EventDbRepository extends BaseDbRepositoryImpl<Event> {
+    private static final int STREAM_CHUNK_SIZE = 500;
 
     public EventDbRepository(JdbcTemplate jdbc, RowMapper<Event> mapper) {
         super(jdbc, mapper);
@@ -31,6 +33,15 @@ public class EventDbRepository extends BaseDbRepositoryImpl<Event> {
             SELECT *
             FROM feed_events
             WHERE user_id = ?
+            ORDER BY event_id
+            """;
+    @Language("SQL")
+    private static final String FIND_USER_EVENTS_PAGE_QUERY = """
+            SELECT *
+            FROM feed_events
+            WHERE user_id = ? AND event_id > ?
+            ORDER BY event_id
+            LIMIT ?
             """;
     @Language("SQL")
     private static final String FIND_ONE_EVENTS_QUERY = """
@@ -42,14 +53,24 @@ public class EventDbRepository extends BaseDbRepositoryImpl<Event> {
     public Event save(NewEventRequest newEvent) {
         long eventId = insert(INSERT_EVENT_QUERY, newEvent.getUserId(), newEvent.getEntityId(),
                 newEvent.getEventType().name(), newEvent.getOperation().name(), newEvent.getTimestamp());
-        Optional<Event> savedEvent = findById(eventId);
 
-        if (savedEvent.isEmpty()) {
-            log.error("Ошибка сохранения события id= {}. Событие не найдено", eventId);
-            throw new InternalServerException("Ошибка после сохранения событие не найдено");
-        }
+        return Event.builder()
+                .eventId(eventId)
+                .userId(newEvent.getUserId())
+                .entityId(newEvent.getEntityId())
+                .eventType(newEvent.getEventType())
+                .operation(newEvent.getOperation())
+                .timestamp(newEvent.getTimestamp())
+                .build();
+    }
 
-        return savedEvent.get();
+    @Transactional
+    public void saveAll(List<NewEventRequest> newEvents) {
+        jdbc.batchUpdate(INSERT_EVENT_QUERY, newEvents.stream()
+                .map(event -> new Object[]{event.getUserId(), event.getEntityId(), event.getEventType().name(),
+                        event.getOperation().name(), event.getTimestamp()})
+                .toList());
+        log.info("Сохранен пакет событий: {}", newEvents.size());
     }
 
     public Optional<Event> findById(Long eventId) {
@@ -57,7 +78,24 @@ public class EventDbRepository extends BaseDbRepositoryImpl<Event> {
     }
 
     public List<Event> findUserEvents(Long userId) {
-        return jdbc.query(FIND_USER_EVENTS_QUERY, mapper, userId);
+        return findMany(FIND_USER_EVENTS_QUERY, userId);
+    }
+
+    public List<Event> findUserEventsPage(Long userId, long afterEventId, int limit) {
+        return findMany(FIND_USER_EVENTS_PAGE_QUERY, userId, afterEventId, limit);
+    }
+
+    public Stream<Event> streamUserEvents(Long userId, long afterEventId, int limit) {
+        int chunkSize = Math.min(limit, STREAM_CHUNK_SIZE);
+
+        return Stream.iterate(
+                        findUserEventsPage(userId, afterEventId, chunkSize),
+                        chunk -> !chunk.isEmpty(),
+                        chunk -> chunk.size() < chunkSize
+                                ? List.of()
+                                : findUserEventsPage(userId, chunk.getLast().getEventId(), chunkSize))
+                .flatMap(List::stream)
+                .limit(limit);
     }
 }
 
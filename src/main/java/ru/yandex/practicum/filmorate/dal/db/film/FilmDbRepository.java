@@ -6,37 +6,49 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.yandex.practicum.filmorate.dal.db.base.AfterCommit;
 import ru.yandex.practicum.filmorate.dal.db.base.BaseDbRepositoryImpl;
 import ru.yandex.practicum.filmorate.dal.db.director.DirectorDbRepository;
 import ru.yandex.practicum.filmorate.dal.db.genre.GenreDbRepository;
-import ru.yandex.practicum.filmorate.dal.db.mpa.MpaDbRepository;
-import ru.yandex.practicum.filmorate.exception.InternalServerException;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dal.index.FilmSearchIndex;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
 import ru.yandex.practicum.filmorate.exception.NotFoundException;
 import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.Mpa;
 
 import java.sql.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 @Qualifier
 @Slf4j
 public class FilmDbRepository extends BaseDbRepositoryImpl<Film> {
+    private static final int STREAM_CHUNK_SIZE = 500;
+
     private final GenreDbRepository genreRepository;
-    private final MpaDbRepository mpaRepository;
+    private final ReferenceDataDictionary dictionary;
     private final DirectorDbRepository directorDbRepository;
     private final FilmRelationLoader filmRelationLoader;
+    private final FilmSearchIndex searchIndex;
+    private final EntityCache entityCache;
 
     public FilmDbRepository(JdbcTemplate jdbc,
                             RowMapper<Film> mapper,
                             GenreDbRepository genreRepository,
-                            MpaDbRepository mpaRepository,
-                            DirectorDbRepository directorDbRepository, FilmRelationLoader filmRelationLoader) {
+                            ReferenceDataDictionary dictionary,
+                            DirectorDbRepository directorDbRepository, FilmRelationLoader filmRelationLoader,
+                            FilmSearchIndex searchIndex, EntityCache entityCache) {
         super(jdbc, mapper);
         this.genreRepository = genreRepository;
-        this.mpaRepository = mpaRepository;
+        this.dictionary = dictionary;
         this.directorDbRepository = directorDbRepository;
         this.filmRelationLoader = filmRelationLoader;
+        this.searchIndex = searchIndex;
+        this.entityCache = entityCache;
     }
 
     @Language("SQL")
@@ -54,42 +66,46 @@ public class FilmDbRepository extends BaseDbRepositoryImpl<Film> {
     private static final String DELETE_FILM_QUERY = """
             DELETE FROM films WHERE id = ?
             """;
+    @Language("SQL")
+    private static final String EXISTS_FILM_QUERY = """
+            SELECT EXISTS (SELECT 1 FROM films WHERE id = ?)
+            """;
 
+    @Transactional
     public Film save(Film film) {
-        Long mpaId = film.getMpa() != null ? film.getMpa().getId() : null;
-
-        if (mpaId != null) {
-            mpaRepository.findMpa(mpaId)
-                    .orElseThrow(() -> new NotFoundException("Рейтинг MPA с id=" + mpaId + " не найден"));
-        }
+        Film resolvedFilm = resolveRelations(film);
 
         long id = insert(
                 INSERT_FILM_QUERY,
-                film.getName(),
-                film.getDescription(),
-                Date.valueOf(film.getReleaseDate()),
-                film.getDuration(),
-                mpaId
+                resolvedFilm.getName(),
+                resolvedFilm.getDescription(),
+                Date.valueOf(resolvedFilm.getReleaseDate()),
+                resolvedFilm.getDuration(),
+                mpaId(resolvedFilm)
         );
 
-        genreRepository.insertFilmGenres(id, film.getGenres());
-        film = film.toBuilder().id(id).build();
-        directorDbRepository.saveFilmDirectors(film);
+        Film savedFilm = resolvedFilm.toBuilder().id(id).build();
+        genreRepository.insertFilmGenres(id, savedFilm.getGenres());
+        directorDbRepository.saveFilmDirectors(savedFilm);
 
-        return findById(id).orElseThrow(() -> {
-            log.error("Ошибка сохранения фильма filmId={}. Фильм не найден", id);
-            return new InternalServerException("Ошибка после сохранения фильм не найден");
+        AfterCommit.run(() -> {
+            searchIndex.putFilm(savedFilm);
+            entityCache.putFilm(savedFilm);
         });
+        return savedFilm;
     }
 
+    @Transactional
     public Film update(Film film) {
-        Long mpaId = film.getMpa() != null ? film.getMpa().getId() : null;
-
-        if (mpaId != null) {
-            mpaRepository.findMpa(mpaId)
-                    .orElseThrow(() -> new NotFoundException("Рейтинг MPA с id=" + mpaId + " не найден"));
-        }
+        Film storedFilm = findById(film.getId()).orElseThrow(() -> {
+            log.warn("Ошибка обновления фильма filmId= {}. Фильм не найден", film.getId());
+            return new NotFoundException("Фильм с id=" + film.getId() + " не найден");
+        });
+        return update(film, storedFilm);
+    }
 
+    @Transactional
+    public Film update(Film film, Film storedFilm) {
         log.info("UPDATE filmId={}, genres from request = {}",
                 film.getId(),
                 film.getGenres() == null ? "null" : film.getGenres().stream()
@@ -98,35 +114,98 @@ public class FilmDbRepository extends BaseDbRepositoryImpl<Film> {
         );
         log.info("UPDATE filmId={}, directors from request = {}", film.getId(), film.getDirectors());
 
+        Film resolvedFilm = resolveRelations(film);
+
         update(
                 UPDATE_FILM_QUERY,
-                film.getName(),
-                film.getDescription(),
-                Date.valueOf(film.getReleaseDate()),
-                film.getDuration(),
-                mpaId,
-                film.getId()
+                resolvedFilm.getName(),
+                resolvedFilm.getDescription(),
+                Date.valueOf(resolvedFilm.getReleaseDate()),
+                resolvedFilm.getDuration(),
+                mpaId(resolvedFilm),
+                resolvedFilm.getId()
         );
 
-        genreRepository.updateFilmGenres(film.getId(), film.getGenres());
-        directorDbRepository.updateFilmDirectors(film);
-
-        return findById(film.getId()).orElseThrow(() -> {
-            log.warn("Ошибка обновления фильма filmId= {}. Фильм не найден", film.getId());
-            return new NotFoundException("Ошибка после обновления — фильм не найден");
+        if (film.getGenres() != null) {
+            genreRepository.updateFilmGenres(resolvedFilm.getId(), resolvedFilm.getGenres());
+        }
+        if (film.getDirectors() != null) {
+            directorDbRepository.updateFilmDirectors(resolvedFilm);
+        }
+        entityCache.evictFilm(film.getId());
+
+        Film updatedFilm = resolvedFilm.toBuilder()
+                .genres(film.getGenres() != null ? resolvedFilm.getGenres() : storedFilm.getGenres())
+                .directors(film.getDirectors() != null ? resolvedFilm.getDirectors() : storedFilm.getDirectors())
+                .build();
+        AfterCommit.run(() -> {
+            searchIndex.putFilm(updatedFilm);
+            entityCache.putFilm(updatedFilm);
         });
+        return updatedFilm;
     }
 
     public boolean delete(Long filmId) {
-        return delete(DELETE_FILM_QUERY, filmId);
+        boolean deleted = delete(DELETE_FILM_QUERY, filmId);
+
+        if (deleted) {
+            entityCache.evictFilm(filmId);
+            AfterCommit.run(() -> {
+                searchIndex.removeFilm(filmId);
+                entityCache.evictFilm(filmId);
+            });
+        }
+
+        return deleted;
     }
 
     public Optional<Film> findById(Long filmId) {
-        List<Film> films = filmRelationLoader.findFilmsWithRelationsByIds(List.of(filmId));
-        return films.stream().findFirst();
+        return entityCache.findFilm(filmId, id -> filmRelationLoader.findFilmsWithRelationsByIds(List.of(id)).stream()
+                .findFirst());
+    }
+
+    public boolean existsById(Long filmId) {
+        return entityCache.containsFilm(filmId)
+                || Boolean.TRUE.equals(jdbc.queryForObject(EXISTS_FILM_QUERY, Boolean.class, filmId));
     }
 
     public List<Film> findAll() {
         return filmRelationLoader.findAllWithRelationsOrderedById();
     }
-}
\ No newline at end of file
+
+    public List<Film> findPage(long afterId, int limit) {
+        return filmRelationLoader.findPageWithRelations(afterId, limit);
+    }
+
+    public Stream<Film> streamAll(long afterId, int limit) {
+        int chunkSize = Math.min(limit, STREAM_CHUNK_SIZE);
+
+        return Stream.iterate(
+                        filmRelationLoader.findPageWithRelations(afterId, chunkSize),
+                        chunk -> !chunk.isEmpty(),
+                        chunk -> chunk.size() < chunkSize
+                                ? List.of()
+                                : filmRelationLoader.findPageWithRelations(chunk.getLast().getId(), chunkSize))
+                .flatMap(List::stream)
+                .limit(limit);
+    }
+
+    private Film resolveRelations(Film film) {
+        Mpa mpa = film.getMpa();
+
+        if (mpa != null && mpa.getId() != null) {
+            mpa = dictionary.findMpa(mpa.getId())
+                    .orElseThrow(() -> new NotFoundException("Рейтинг MPA с id=" + film.getMpa().getId() + " не найден"));
+        }
+
+        return film.toBuilder()
+                .mpa(mpa)
+                .genres(genreRepository.resolveGenres(film.getGenres()))
+                .directors(directorDbRepository.resolveDirectors(film.getDirectors()))
+                .build();
+    }
+
+    private static Long mpaId(Film film) {
+        return film.getMpa() != null ? film.getMpa().getId() : null;
+    }
+}
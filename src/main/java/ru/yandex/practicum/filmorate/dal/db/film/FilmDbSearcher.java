@@ -9,6 +9,9 @@ import org.springframework.stereotype.Repository;
 import ru.yandex.practicum.filmorate.dal.db.base.BaseDbRepositoryImpl;
 import ru.yandex.practicum.filmorate.model.Film;
 
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -40,118 +43,32 @@ public class FilmDbSearcher extends BaseDbRepositoryImpl<Film> {
             SELECT f.*, m.id AS mpa_id, m.name AS mpa_name
             FROM films AS f
             JOIN mpa AS m ON f.mpa_id = m.id
-            LEFT JOIN (
-                SELECT COUNT(fl.user_id) AS likes, fl.film_id
-                FROM films_likes fl
-                GROUP BY fl.film_id
-            ) AS l ON f.id = l.film_id
             WHERE f.id IN (SELECT fd.film_id
                            FROM film_directors fd
                            WHERE fd.director_id = ?)
-            ORDER BY l.likes DESC NULLS LAST
+            ORDER BY f.likes_count DESC, f.id
             """;
     @Language("SQL")
-    private static final String SEARCH_BY_TITLE_OR_DIRECTOR = """
-            SELECT f.*, COUNT(fl.user_id) AS likes
-            FROM films f
-            LEFT JOIN films_likes fl ON f.id = fl.film_id
-            LEFT JOIN film_directors fd ON f.id = fd.film_id
-            LEFT JOIN directors d ON fd.director_id = d.id
-            WHERE LOWER(f.name) LIKE ?
-               OR LOWER(d.name) LIKE ?
-            GROUP BY f.id
-            ORDER BY likes DESC
-            """;
-    @Language("SQL")
-    private static final String SEARCH_BY_TITLE = """
-            SELECT f.*, COUNT(fl.user_id) AS likes
-            FROM films f
-            LEFT JOIN films_likes fl ON f.id = fl.film_id
-            WHERE LOWER(f.name) LIKE ?
-            GROUP BY f.id
-            ORDER BY likes DESC
-            """;
-    @Language("SQL")
-    private static final String SEARCH_BY_DIRECTOR = """
-            SELECT f.*, COUNT(fl.user_id) AS likes
-            FROM films f
-            LEFT JOIN films_likes fl ON f.id = fl.film_id
-            LEFT JOIN film_directors fd ON f.id = fd.film_id
-            LEFT JOIN directors d ON fd.director_id = d.id
-            WHERE LOWER(d.name) LIKE ?
-            GROUP BY f.id
-            ORDER BY likes DESC
-            """;
-    @Language("SQL")
-    private static final String FIND_COMMON_FILMS_SQL = """
-            SELECT f.*, COALESCE(l.likes_count, 0) AS likes_count
-            FROM films f
-            JOIN films_likes fl1 ON f.id = fl1.film_id AND fl1.user_id = ?
-            JOIN films_likes fl2 ON f.id = fl2.film_id AND fl2.user_id = ?
-            LEFT JOIN (
-                SELECT film_id, COUNT(*) AS likes_count
-                FROM films_likes
-                GROUP BY film_id
-            ) l ON f.id = l.film_id
-            ORDER BY l.likes_count DESC
+    private static final String FIND_POPULAR_FILMS_QUERY = """
+            SELECT f.id
+            FROM films AS f
             """;
     @Language("SQL")
-    private static final String FIND_RECOMMENDATIONS_FILM_QUERY = """
-            SELECT *
-            FROM films
-            WHERE id IN (
-                SELECT film_id
-                FROM films_likes
-                WHERE user_id = (
-                    SELECT user_id
-                    FROM films_likes
-                    WHERE film_id IN (
-                        SELECT film_id
-                        FROM films_likes
-                        WHERE user_id = ?
-                    )
-                    AND user_id != ?
-                    GROUP BY user_id
-                    ORDER BY COUNT(*) DESC
-                    LIMIT 1
-                )
-                AND film_id NOT IN (
-                    SELECT film_id
-                    FROM films_likes
-                    WHERE user_id = ?
-                )
-            )
+    private static final String GENRE_FILTER = """
+            f.id IN (SELECT fg.film_id
+                     FROM film_genres AS fg
+                     WHERE fg.genre_id = ?)
             """;
     @Language("SQL")
-    private static final String FIND_FILMS_BY_YEAR_QUERY = """
-            SELECT f.id
-            FROM films f
-            WHERE EXTRACT(YEAR FROM f.release_date) = ?
+    private static final String YEAR_FILTER = """
+            f.release_date >= ? AND f.release_date < ?
             """;
     @Language("SQL")
-    private static final String FIND_ALL_FILMS_BY_GENRE_ID_QUERY = """
-            SELECT film_id
-            FROM film_genres
-            WHERE genre_id = ?
+    private static final String POPULAR_ORDER_AND_LIMIT = """
+            ORDER BY f.likes_count DESC, f.id
+            LIMIT ?
             """;
 
-    public List<Film> searchFilms(String query, boolean byTitle, boolean byDirector) {
-        String like = "%" + query.toLowerCase() + "%";
-        List<Film> baseFilms;
-
-        if (byTitle && byDirector) {
-            baseFilms = jdbc.query(SEARCH_BY_TITLE_OR_DIRECTOR, mapper, like, like);
-        } else if (byTitle) {
-            baseFilms = jdbc.query(SEARCH_BY_TITLE, mapper, like);
-        } else if (byDirector) {
-            baseFilms = jdbc.query(SEARCH_BY_DIRECTOR, mapper, like);
-        } else {
-            return List.of();
-        }
-
-        return filmRelationLoader.enrichFilmsPreservingOrder(baseFilms);
-    }
-
     public Collection<Film> getSortedFilms(Long directorId, String sort) {
         String query = SORT_FILMS_BY_LIKES_QUERY;
 
@@ -166,22 +83,31 @@ public class FilmDbSearcher extends BaseDbRepositoryImpl<Film> {
 
     }
 
-    public List<Film> findRecommendationsFilms(Long userId) {
-        List<Film> baseFilms = jdbc.query(FIND_RECOMMENDATIONS_FILM_QUERY, mapper, userId, userId, userId);
-        return filmRelationLoader.enrichFilmsPreservingOrder(baseFilms);
-    }
+    public List<Long> findPopularFilmIds(int count, Long genreId, Integer year) {
+        if (count <= 0) {
+            return List.of();
+        }
 
-    public List<Film> findCommonFilms(long userId, long friendId) {
-        List<Film> baseFilms = jdbc.query(FIND_COMMON_FILMS_SQL, mapper, userId, friendId);
-        return filmRelationLoader.enrichFilmsPreservingOrder(baseFilms);
-    }
+        StringBuilder sql = new StringBuilder(FIND_POPULAR_FILMS_QUERY);
+        List<Object> params = new ArrayList<>();
+        String clause = " WHERE ";
 
-    public List<Long> findFilmsByYear(Long year) {
-        return jdbc.queryForList(FIND_FILMS_BY_YEAR_QUERY, Long.class, year);
-    }
+        if (genreId != null) {
+            sql.append(clause).append(GENRE_FILTER);
+            params.add(genreId);
+            clause = " AND ";
+        }
+
+        if (year != null) {
+            sql.append(clause).append(YEAR_FILTER);
+            params.add(Date.valueOf(LocalDate.of(year, 1, 1)));
+            params.add(Date.valueOf(LocalDate.of(year + 1, 1, 1)));
+        }
+
+        sql.append(POPULAR_ORDER_AND_LIMIT);
+        params.add(count);
 
-    public List<Long> findAllFilmsByGenreId(Long genreId) {
-        return jdbc.queryForList(FIND_ALL_FILMS_BY_GENRE_ID_QUERY, Long.class, genreId);
+        return jdbc.queryForList(sql.toString(), Long.class, params.toArray());
     }
 
     public List<Film> findFilmsWithRelationsByIdsPreservingOrder(List<Long> ids) {
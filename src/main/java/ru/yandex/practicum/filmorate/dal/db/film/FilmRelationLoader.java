@@ -3,10 +3,12 @@ package ru.yandex.practicum.filmorate.dal.db.film;
 import lombok.extern.slf4j.Slf4j;
 import org.intellij.lang.annotations.Language;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 import ru.yandex.practicum.filmorate.dal.db.base.BaseDbRepositoryImpl;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
 import ru.yandex.practicum.filmorate.enums.GenreName;
 import ru.yandex.practicum.filmorate.enums.MpaName;
 import ru.yandex.practicum.filmorate.model.Director;
@@ -16,6 +18,7 @@ import ru.yandex.practicum.filmorate.model.Mpa;
 
 import java.sql.Date;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,9 +28,23 @@ import java.util.stream.Collectors;
 @Qualifier
 @Slf4j
 public class FilmRelationLoader extends BaseDbRepositoryImpl<Film> {
+    private static final String ROWS_METRIC_OPERATION = "findFilmsWithRelations";
 
-    public FilmRelationLoader(JdbcTemplate jdbc, RowMapper<Film> mapper) {
+    private final ReferenceDataDictionary dictionary;
+    private final Mode mode;
+
+    public FilmRelationLoader(JdbcTemplate jdbc,
+                              RowMapper<Film> mapper,
+                              ReferenceDataDictionary dictionary,
+                              @Value("${filmorate.films.relation-loader:SPLIT}") Mode mode) {
         super(jdbc, mapper);
+        this.dictionary = dictionary;
+        this.mode = mode;
+    }
+
+    public enum Mode {
+        JOIN,
+        SPLIT
     }
 
     @Language("SQL")
@@ -51,12 +68,51 @@ public class FilmRelationLoader extends BaseDbRepositoryImpl<Film> {
             LEFT JOIN film_directors fd ON f.id = fd.film_id
             LEFT JOIN directors d ON fd.director_id = d.id
             """;
+    @Language("SQL")
+    private static final String FIND_FILMS_BASE = """
+            SELECT
+                f.id AS film_id,
+                f.name AS film_name,
+                f.description AS film_description,
+                f.release_date AS film_release_date,
+                f.duration AS film_duration,
+                f.mpa_id AS mpa_id
+            FROM films f
+            """;
+    @Language("SQL")
+    private static final String FIND_FILM_GENRE_LINKS = """
+            SELECT fg.film_id AS film_id, fg.genre_id AS genre_id
+            FROM film_genres fg
+            """;
+    @Language("SQL")
+    private static final String FIND_FILM_DIRECTOR_LINKS = """
+            SELECT fd.film_id AS film_id, d.id AS director_id, d.name AS director_name
+            FROM film_directors fd
+            JOIN directors d ON fd.director_id = d.id
+            """;
+    @Language("SQL")
+    private static final String FIND_FILM_IDS_PAGE = """
+            SELECT id FROM films WHERE id > ? ORDER BY id LIMIT ?
+            """;
 
     public List<Film> findAllWithRelationsOrderedById() {
+        if (mode == Mode.SPLIT) {
+            return findFilmsSplit(List.of());
+        }
+
         String sql = FIND_FILMS_WITH_RELATIONS_BASE + " ORDER BY film_id";
         return findFilmsWithRelations(sql);
     }
 
+    public List<Film> findPageWithRelations(long afterId, int limit) {
+        if (mode == Mode.SPLIT) {
+            return findPageSplit(afterId, limit);
+        }
+
+        List<Long> ids = jdbc.queryForList(FIND_FILM_IDS_PAGE, Long.class, afterId, limit);
+        return findFilmsWithRelationsByIds(ids);
+    }
+
     protected List<Film> findFilmsWithRelations(String sql, Object... params) {
         Map<Long, Film> films = new LinkedHashMap<>();
 
@@ -115,6 +171,7 @@ public class FilmRelationLoader extends BaseDbRepositoryImpl<Film> {
             }
         }, params);
 
+        metrics.recordRows(ROWS_METRIC_OPERATION, films.size());
         return new ArrayList<>(films.values());
     }
 
@@ -123,6 +180,10 @@ public class FilmRelationLoader extends BaseDbRepositoryImpl<Film> {
             return List.of();
         }
 
+        if (mode == Mode.SPLIT) {
+            return findFilmsSplit(ids);
+        }
+
         String inSql = ids.stream()
                 .map(id -> "?")
                 .collect(Collectors.joining(", "));
@@ -156,4 +217,117 @@ public class FilmRelationLoader extends BaseDbRepositoryImpl<Film> {
                 .map(f -> filmById.getOrDefault(f.getId(), f))
                 .toList();
     }
+
+    private List<Film> findFilmsSplit(List<Long> ids) {
+        Object[] params = ids.toArray();
+        List<Film> films = findBaseFilms(FIND_FILMS_BASE + filmIdFilter("f.id", ids) + " ORDER BY f.id", params);
+
+        attachRelations(films,
+                FIND_FILM_GENRE_LINKS + filmIdFilter("fg.film_id", ids) + " ORDER BY fg.film_id",
+                FIND_FILM_DIRECTOR_LINKS + filmIdFilter("fd.film_id", ids) + " ORDER BY fd.film_id",
+                params);
+        metrics.recordRows(ROWS_METRIC_OPERATION, films.size());
+        return films;
+    }
+
+    private List<Film> findPageSplit(long afterId, int limit) {
+        List<Film> films = findBaseFilms(FIND_FILMS_BASE + " WHERE f.id > ? ORDER BY f.id LIMIT ?", afterId, limit);
+        if (films.isEmpty()) {
+            return films;
+        }
+
+        long lastId = films.getLast().getId();
+        attachRelations(films,
+                FIND_FILM_GENRE_LINKS + " WHERE fg.film_id > ? AND fg.film_id <= ? ORDER BY fg.film_id",
+                FIND_FILM_DIRECTOR_LINKS + " WHERE fd.film_id > ? AND fd.film_id <= ? ORDER BY fd.film_id",
+                new Object[]{afterId, lastId});
+        metrics.recordRows(ROWS_METRIC_OPERATION, films.size());
+        return films;
+    }
+
+    private List<Film> findBaseFilms(String sql, Object... params) {
+        List<Film> films = new ArrayList<>();
+
+        jdbc.query(sql, rs -> {
+            long mpaId = rs.getLong("mpa_id");
+            Mpa mpa = rs.wasNull() ? null : dictionary.findMpa(mpaId).orElse(null);
+
+            films.add(Film.builder()
+                    .id(rs.getLong("film_id"))
+                    .name(rs.getString("film_name"))
+                    .description(rs.getString("film_description"))
+                    .releaseDate(rs.getDate("film_release_date").toLocalDate())
+                    .duration(rs.getInt("film_duration"))
+                    .mpa(mpa)
+                    .build());
+        }, params);
+
+        return films;
+    }
+
+    private void attachRelations(List<Film> films, String genreLinksSql, String directorLinksSql, Object[] params) {
+        if (films.isEmpty()) {
+            return;
+        }
+
+        long[] filmIds = new long[films.size()];
+        for (int i = 0; i < filmIds.length; i++) {
+            filmIds[i] = films.get(i).getId();
+        }
+
+        FilmCursor genreCursor = new FilmCursor(filmIds, films);
+        jdbc.query(genreLinksSql, rs -> {
+            Film film = genreCursor.seek(rs.getLong("film_id"));
+            Genre genre = dictionary.findGenre(rs.getLong("genre_id")).orElse(null);
+            if (film != null && genre != null) {
+                film.getGenres().add(genre);
+            }
+        }, params);
+
+        Map<Long, Director> directors = new HashMap<>();
+        FilmCursor directorCursor = new FilmCursor(filmIds, films);
+        jdbc.query(directorLinksSql, rs -> {
+            Film film = directorCursor.seek(rs.getLong("film_id"));
+            if (film != null) {
+                long directorId = rs.getLong("director_id");
+                Director director = directors.get(directorId);
+                if (director == null) {
+                    director = Director.builder()
+                            .id(directorId)
+                            .name(rs.getString("director_name"))
+                            .build();
+                    directors.put(directorId, director);
+                }
+                film.getDirectors().add(director);
+            }
+        }, params);
+    }
+
+    private String filmIdFilter(String column, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return "";
+        }
+
+        return ids.stream()
+                .map(id -> "?")
+                .collect(Collectors.joining(", ", " WHERE " + column + " IN (", ")"));
+    }
+
+    private static final class FilmCursor {
+        private final long[] filmIds;
+        private final List<Film> films;
+        private int position;
+
+        private FilmCursor(long[] filmIds, List<Film> films) {
+            this.filmIds = filmIds;
+            this.films = films;
+        }
+
+        private Film seek(long filmId) {
+            while (position < filmIds.length && filmIds[position] < filmId) {
+                position++;
+            }
+            return position < filmIds.length && filmIds[position] == filmId ? films.get(position) : null;
+        }
+    }
 }
@@ -2,25 +2,30 @@ package ru.yandex.practicum.filmorate.dal.db.friendship;
 
 import lombok.extern.slf4j.Slf4j;
 import org.intellij.lang.annotations.Language;
-import org.jetbrains.annotations.NotNull;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.yandex.practicum.filmorate.dal.db.base.BaseDbRepositoryImpl;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
 import ru.yandex.practicum.filmorate.enums.FriendshipStatus;
 import ru.yandex.practicum.filmorate.exception.ValidationException;
 import ru.yandex.practicum.filmorate.model.User;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 
 @Repository
 @Slf4j
 public class FriendshipDbRepository extends BaseDbRepositoryImpl<User> {
 
-    public FriendshipDbRepository(JdbcTemplate jdbc, RowMapper<User> mapper) {
+    private final ReferenceDataDictionary dictionary;
+
+    public FriendshipDbRepository(JdbcTemplate jdbc, RowMapper<User> mapper, ReferenceDataDictionary dictionary) {
         super(jdbc, mapper);
+        this.dictionary = dictionary;
     }
 
     @Language("SQL")
@@ -47,51 +52,57 @@ public class FriendshipDbRepository extends BaseDbRepositoryImpl<User> {
                         WHERE user_id = ? AND fs.name = 'CONFIRMED')
             """;
     @Language("SQL")
-    private static final String FIND_COMMON_FRIENDS_QUERY = """
-            SELECT * FROM users
-            WHERE id IN (SELECT uf1.friend_id
-                         FROM users_friends uf1
-                         JOIN users_friends uf2 ON uf1.friend_id = uf2.friend_id
-                         JOIN friendship_status fs1 ON uf1.friendship_status_id = fs1.id
-                         JOIN friendship_status fs2 ON uf2.friendship_status_id = fs2.id
-                         WHERE uf1.user_id = ? AND uf2.user_id = ? AND
-                               fs1.name= 'CONFIRMED' AND fs2.name = 'CONFIRMED')
+    private static final String INSERT_FRIEND_REQUEST_QUERY = """
+            INSERT INTO users_friends (user_id, friend_id, friendship_status_id)
+            SELECT ?, ?, ?
+            WHERE NOT EXISTS (SELECT 1 FROM users_friends WHERE user_id = ? AND friend_id = ?)
+            """;
+    @Language("SQL")
+    private static final String FIND_FRIENDSHIP_STATUS_QUERY = """
+            SELECT fs.name
+            FROM users_friends AS uf
+            JOIN friendship_status AS fs ON uf.friendship_status_id = fs.id
+            WHERE uf.user_id = ? AND uf.friend_id = ?
+            """;
+    @Language("SQL")
+    private static final String FIND_FRIENDSHIPS_BY_STATUS_QUERY = """
+            SELECT user_id, friend_id
+            FROM users_friends
+            WHERE friendship_status_id = ?
             """;
 
+    @Transactional
     public boolean save(Long userId, Long friendId) {
-        boolean duplicate = isDuplicate(userId, friendId);
-        boolean updateStatus = isUpdateStatus(userId, friendId);
+        return save(userId, friendId, findStatus(userId, friendId).orElse(null));
+    }
 
-        if (duplicate) {
+    @Transactional
+    public boolean save(Long userId, Long friendId, FriendshipStatus currentStatus) {
+        if (currentStatus == FriendshipStatus.CONFIRMED) {
             log.warn("Дружба уже существует, новая запись не может быть добавлена");
             throw new ValidationException("Попытка добавить дубликат дружбы");
         }
 
-        if (updateStatus) {
+        if (currentStatus == FriendshipStatus.NOT_CONFIRMED) {
             return update(userId, friendId, FriendshipStatus.CONFIRMED);
         }
 
-        Optional<Long> statusIdConfirmed = getFriendStatusId(FriendshipStatus.CONFIRMED);
-        Optional<Long> statusIdNotConfirmed = getFriendStatusId(FriendshipStatus.NOT_CONFIRMED);
+        long statusIdConfirmed = getStatusId(FriendshipStatus.CONFIRMED);
+        long statusIdNotConfirmed = getStatusId(FriendshipStatus.NOT_CONFIRMED);
 
-        if (statusIdConfirmed.isEmpty() || statusIdNotConfirmed.isEmpty()) {
-            throw new IllegalStateException("Не найдены статусы дружбы в таблице friendship_status");
+        int rowAddFriend;
+        try {
+            rowAddFriend = jdbc.update(INSERT_FRIEND_QUERY, userId, friendId, statusIdConfirmed);
+        } catch (DuplicateKeyException exception) {
+            log.warn("Дружба добавлена параллельным запросом, новая запись не может быть добавлена");
+            throw new ValidationException("Попытка добавить дубликат дружбы");
         }
-
-        int rowAddFriend = jdbc.update(INSERT_FRIEND_QUERY, userId, friendId, statusIdConfirmed.get());
-        int rowFriendQuery = jdbc.update(INSERT_FRIEND_QUERY, friendId, userId, statusIdNotConfirmed.get());
-        return rowAddFriend > 0 && rowFriendQuery > 0;
+        jdbc.update(INSERT_FRIEND_REQUEST_QUERY, friendId, userId, statusIdNotConfirmed, friendId, userId);
+        return rowAddFriend > 0;
     }
 
     public boolean update(Long userId, Long friendId, FriendshipStatus status) {
-        Optional<Long> statusId = getFriendStatusId(status);
-
-        if (statusId.isEmpty()) {
-            log.warn("Попытка получить несуществующий статус дружбы status= {}", status);
-            throw new IllegalStateException("Не найден статус дружбы в таблице friendship_status");
-        }
-
-        int rowAddFriend = jdbc.update(UPDATE_FRIEND_QUERY, statusId.get(), userId, friendId);
+        int rowAddFriend = jdbc.update(UPDATE_FRIEND_QUERY, getStatusId(status), userId, friendId);
         log.info("Обновлено строк rowAddFriend= {}", rowAddFriend);
         return rowAddFriend > 0;
     }
@@ -107,49 +118,22 @@ public class FriendshipDbRepository extends BaseDbRepositoryImpl<User> {
                     .toList();
     }
 
-    public List<User> findCommonFriends(Long userId, Long otherUserId) {
-        return jdbc.query(FIND_COMMON_FRIENDS_QUERY, mapper, userId, otherUserId).stream()
-                .toList();
+    public Optional<FriendshipStatus> findStatus(Long userId, Long friendId) {
+        return jdbc.query(FIND_FRIENDSHIP_STATUS_QUERY,
+                        (rs, rowNum) -> FriendshipStatus.valueOf(rs.getString("name")), userId, friendId).stream()
+                .findFirst();
     }
 
-    private Optional<Long> getFriendStatusId(@NotNull FriendshipStatus status) {
-        @Language("SQL")
-        String sql = "SELECT id FROM friendship_status WHERE name = ?";
-
-        try {
-            Long id = jdbc.queryForObject(sql, Long.class, status.name());
-            return Optional.ofNullable(id);
-        } catch (EmptyResultDataAccessException exception) {
-            return Optional.empty();
-        }
+    public void findAllFriendships(FriendshipStatus status, BiConsumer<Long, Long> consumer) {
+        jdbc.query(FIND_FRIENDSHIPS_BY_STATUS_QUERY, rs -> {
+            consumer.accept(rs.getLong("user_id"), rs.getLong("friend_id"));
+        }, getStatusId(status));
     }
 
-    private boolean isDuplicate(Long userId, Long friendId) {
-        @Language("SQL")
-        String sql = """
-                SELECT COUNT(*)
-                FROM users_friends AS uf
-                JOIN friendship_status AS fs ON uf.friendship_status_id = fs.id
-                        WHERE (user_id = ? AND friend_id = ? AND name = 'CONFIRMED')
-                """;
-
-        Integer rowDuplicate = jdbc.queryForObject(sql, Integer.class, userId, friendId);
-
-        return rowDuplicate != null && rowDuplicate > 0;
-    }
-
-    private boolean isUpdateStatus(Long userId, Long friendId) {
-        @Language("SQL")
-        String sql = """
-                SELECT COUNT(*)
-                FROM users_friends AS uf
-                JOIN friendship_status AS fs ON uf.friendship_status_id = fs.id
-                        WHERE (user_id = ? AND friend_id = ? AND name = 'NOT_CONFIRMED')
-                """;
-
-        Integer rowDuplicate = jdbc.queryForObject(sql, Integer.class, userId, friendId);
-
-        return rowDuplicate != null && rowDuplicate > 0;
+    private long getStatusId(FriendshipStatus status) {
+        return dictionary.findFriendshipStatusId(status).orElseThrow(() -> {
+            log.warn("Попытка получить несуществующий статус дружбы status= {}", status);
+            return new IllegalStateException("Не найден статус дружбы в таблице friendship_status");
+        });
     }
 }
-
@@ -7,19 +7,26 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 import ru.yandex.practicum.filmorate.dal.db.base.BaseDbRepositoryImpl;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
 import ru.yandex.practicum.filmorate.exception.NotFoundException;
 import ru.yandex.practicum.filmorate.model.Genre;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Repository
 @Slf4j
 public class GenreDbRepository extends BaseDbRepositoryImpl<Genre> {
 
-    public GenreDbRepository(JdbcTemplate jdbc, RowMapper<Genre> mapper) {
+    private final ReferenceDataDictionary dictionary;
+
+    public GenreDbRepository(JdbcTemplate jdbc, RowMapper<Genre> mapper, ReferenceDataDictionary dictionary) {
         super(jdbc, mapper);
+        this.dictionary = dictionary;
     }
 
     @Language("SQL")
@@ -51,9 +58,9 @@ public class GenreDbRepository extends BaseDbRepositoryImpl<Genre> {
             WHERE film_id = ?
             """;
     @Language("SQL")
-    private static final String DELETE_FILM_GENRE_QUERY = """
+    private static final String DELETE_FILM_GENRES_QUERY = """
             DELETE FROM film_genres
-            WHERE film_id = ? AND genre_id = ?;
+            WHERE film_id = ? AND genre_id IN (%s);
             """;
 
     public Optional<Genre> findGenre(Long genreId) {
@@ -71,49 +78,78 @@ public class GenreDbRepository extends BaseDbRepositoryImpl<Genre> {
     public void insertFilmGenres(Long filmId, Set<Genre> genres) {
         if (genres == null || genres.isEmpty()) return;
 
-        for (Genre genre : genres) {
-            Long genreId = genre.getId();
-            findGenre(genreId)
-                    .orElseThrow(() -> new NotFoundException("Жанр не найден: id=" + genreId));
-        }
-
-        for (Genre genre : genres) {
-            jdbc.update(INSERT_FILM_GENRE_QUERY, filmId, genre.getId());
-        }
+        insertFilmGenreIds(filmId, validGenreIds(genres));
     }
 
     public void updateFilmGenres(Long filmId, Set<Genre> genres) {
         if (genres == null) {
             return;
         }
-        List<Long> existGenre = findFilmGenresId(filmId);
-        for (Long genreId : existGenre) {
-            deleteFilmGenre(filmId, genreId);
-        }
-        if (genres.isEmpty()) {
-            return;
+
+        Set<Long> genreIds = validGenreIds(genres);
+        Set<Long> existGenreIds = findFilmGenresId(filmId);
+
+        Set<Long> removedGenreIds = new LinkedHashSet<>(existGenreIds);
+        removedGenreIds.removeAll(genreIds);
+        Set<Long> addedGenreIds = new LinkedHashSet<>(genreIds);
+        addedGenreIds.removeAll(existGenreIds);
+
+        deleteFilmGenres(filmId, removedGenreIds);
+        insertFilmGenreIds(filmId, addedGenreIds);
+    }
+
+    public Set<Genre> resolveGenres(Set<Genre> genres) {
+        Set<Genre> resolved = new LinkedHashSet<>();
+
+        if (genres == null) {
+            return resolved;
         }
 
         for (Genre genre : genres) {
             Long genreId = genre.getId();
-            findGenre(genreId)
-                    .orElseThrow(() -> new NotFoundException("Жанр не найден: id=" + genreId));
+            resolved.add(dictionary.findGenre(genreId)
+                    .orElseThrow(() -> new NotFoundException("Жанр не найден: id=" + genreId)));
         }
 
-        for (Genre genre : genres) {
-            jdbc.update(INSERT_FILM_GENRE_QUERY, filmId, genre.getId());
+        return resolved;
+    }
+
+    private Set<Long> validGenreIds(Set<Genre> genres) {
+        return resolveGenres(genres).stream()
+                .map(Genre::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private void insertFilmGenreIds(Long filmId, Set<Long> genreIds) {
+        if (genreIds.isEmpty()) {
+            return;
         }
+
+        jdbc.batchUpdate(INSERT_FILM_GENRE_QUERY, genreIds.stream()
+                .map(genreId -> new Object[]{filmId, genreId})
+                .toList());
     }
 
-    private void deleteFilmGenre(Long filmId, Long genreId) {
-        int rowsDeleted = jdbc.update(DELETE_FILM_GENRE_QUERY, filmId, genreId);
+    private void deleteFilmGenres(Long filmId, Set<Long> genreIds) {
+        if (genreIds.isEmpty()) {
+            return;
+        }
+
+        String inSql = genreIds.stream()
+                .map(id -> "?")
+                .collect(Collectors.joining(", "));
+        List<Object> params = new ArrayList<>(genreIds.size() + 1);
+        params.add(filmId);
+        params.addAll(genreIds);
+
+        int rowsDeleted = jdbc.update(DELETE_FILM_GENRES_QUERY.formatted(inSql), params.toArray());
 
-        if (rowsDeleted == 0) {
-            log.warn("Не удалось удалить жанр genreId= {}, filmId= {}", genreId, filmId);
+        if (rowsDeleted != genreIds.size()) {
+            log.warn("Не удалось удалить жанры genreIds= {}, filmId= {}, удалено строк {}", genreIds, filmId, rowsDeleted);
         }
     }
 
-    private @NotNull List<Long> findFilmGenresId(Long filmId) {
-        return jdbc.queryForList(FIND_ALL_FILM_GENRE_ID_QUERY, Long.class, filmId);
+    private @NotNull Set<Long> findFilmGenresId(Long filmId) {
+        return new LinkedHashSet<>(jdbc.queryForList(FIND_ALL_FILM_GENRE_ID_QUERY, Long.class, filmId));
     }
 }
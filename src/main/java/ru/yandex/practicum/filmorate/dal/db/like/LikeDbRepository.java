@@ -3,10 +3,17 @@ package ru.yandex.practicum.filmorate.dal.db.like;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.intellij.lang.annotations.Language;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
 
 @Repository
 @Slf4j
@@ -20,45 +27,186 @@ public class LikeDbRepository {
             VALUES (?, ?)
             """;
     @Language("SQL")
+    private static final String INSERT_LIKE_IF_ABSENT_QUERY = """
+            INSERT INTO films_likes (film_id, user_id)
+            SELECT ?, ?
+            WHERE NOT EXISTS (SELECT 1 FROM films_likes WHERE film_id = ? AND user_id = ?)
+            """;
+    @Language("SQL")
     private static final String DELETE_LIKE_QUERY = """
             DELETE FROM films_likes
             WHERE film_id = ? AND user_id = ?
             """;
     @Language("SQL")
+    private static final String INCREMENT_LIKES_COUNT_QUERY = """
+            UPDATE films
+            SET likes_count = likes_count + 1
+            WHERE id = ?
+            """;
+    @Language("SQL")
+    private static final String DECREMENT_LIKES_COUNT_QUERY = """
+            UPDATE films
+            SET likes_count = likes_count - 1
+            WHERE id = ?
+            """;
+    @Language("SQL")
+    private static final String CHANGE_LIKES_COUNT_QUERY = """
+            UPDATE films
+            SET likes_count = likes_count + ?
+            WHERE id = ?
+            """;
+    @Language("SQL")
+    private static final String DECREMENT_USER_LIKES_COUNT_QUERY = """
+            UPDATE films
+            SET likes_count = likes_count - 1
+            WHERE id IN (SELECT fl.film_id
+                         FROM films_likes AS fl
+                         WHERE fl.user_id = ?)
+            """;
+    @Language("SQL")
+    private static final String RECONCILE_LIKES_COUNT_QUERY = """
+            UPDATE films AS f
+            SET likes_count = (SELECT COUNT(*) FROM films_likes AS fl WHERE fl.film_id = f.id)
+            WHERE likes_count <> (SELECT COUNT(*) FROM films_likes AS fl WHERE fl.film_id = f.id)
+            """;
+    @Language("SQL")
+    private static final String EXISTS_LIKE_QUERY = """
+            SELECT EXISTS (SELECT 1 FROM films_likes WHERE film_id = ? AND user_id = ?)
+            """;
+    @Language("SQL")
     private static final String FIND_FILM_LIKES_QUERY = """
             SELECT user_id FROM films_likes
             WHERE film_id = ?
             """;
     @Language("SQL")
     private static final String FIND_POPULAR_FILMS_QUERY = """
-            SELECT f.id AS film_id
-                   FROM films AS f
-                   LEFT JOIN films_likes AS fl ON f.id = fl.film_id
-                   GROUP BY f.id
-                   ORDER BY COUNT(fl.user_id) DESC
+            SELECT id AS film_id
+            FROM films
+            ORDER BY likes_count DESC, id
+            """;
+    @Language("SQL")
+    private static final String FIND_LIKES_COUNT_BY_FILM_QUERY = """
+            SELECT id AS film_id, likes_count AS likes
+            FROM films
+            """;
+    @Language("SQL")
+    private static final String FIND_USER_LIKES_QUERY = """
+            SELECT film_id FROM films_likes
+            WHERE user_id = ?
             """;
+    @Language("SQL")
+    private static final String FIND_ALL_LIKES_QUERY = """
+            SELECT film_id, user_id FROM films_likes
+            """;
+
+    @Transactional
+    public boolean save(Long filmId, Long userId) {
+        int rowsSaved;
 
-    public void save(Long filmId, Long userId) {
-        int rowsSaved = jdbc.update(INSERT_LIKE_QUERY, filmId, userId);
+        try {
+            rowsSaved = jdbc.update(INSERT_LIKE_QUERY, filmId, userId);
+        } catch (DuplicateKeyException exception) {
+            log.info("Лайк фильму id= {}, от пользователя id= {} уже существует", filmId, userId);
+            return false;
+        }
 
         if (rowsSaved == 0) {
             log.warn("Ошибка при сохранении лайка фильму id= {}, от пользователя id= {}", filmId, userId);
+            return false;
         }
+
+        jdbc.update(INCREMENT_LIKES_COUNT_QUERY, filmId);
+        return true;
     }
 
-    public void delete(Long filmId, Long userId) {
-        int rowsSaved = jdbc.update(DELETE_LIKE_QUERY, filmId, userId);
+    @Transactional
+    public boolean delete(Long filmId, Long userId) {
+        int rowsDeleted = jdbc.update(DELETE_LIKE_QUERY, filmId, userId);
 
-        if (rowsSaved == 0) {
+        if (rowsDeleted == 0) {
             log.warn("Ошибка при удалении лайка фильму id= {}, от пользователя id= {}", filmId, userId);
+            return false;
         }
+
+        jdbc.update(DECREMENT_LIKES_COUNT_QUERY, filmId);
+        return true;
+    }
+
+    @Transactional
+    public List<LikeChange> saveChanges(Collection<LikeChange> changes) {
+        List<LikeChange> likes = changes.stream().filter(LikeChange::liked).toList();
+        List<LikeChange> unlikes = changes.stream().filter(change -> !change.liked()).toList();
+        List<LikeChange> applied = new ArrayList<>();
+        Map<Long, Integer> likesCountDelta = new HashMap<>();
+
+        int[] rowsSaved = jdbc.batchUpdate(INSERT_LIKE_IF_ABSENT_QUERY, likes.stream()
+                .map(like -> new Object[]{like.filmId(), like.userId(), like.filmId(), like.userId()})
+                .toList());
+        collectApplied(likes, rowsSaved, 1, applied, likesCountDelta);
+
+        int[] rowsDeleted = jdbc.batchUpdate(DELETE_LIKE_QUERY, unlikes.stream()
+                .map(unlike -> new Object[]{unlike.filmId(), unlike.userId()})
+                .toList());
+        collectApplied(unlikes, rowsDeleted, -1, applied, likesCountDelta);
+
+        jdbc.batchUpdate(CHANGE_LIKES_COUNT_QUERY, likesCountDelta.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .toList());
+
+        log.info("Сохранен пакет лайков: получено изменений {}, применено {}", changes.size(), applied.size());
+        return applied;
+    }
+
+    public void decrementUserLikesCount(Long userId) {
+        int filmsUpdated = jdbc.update(DECREMENT_USER_LIKES_COUNT_QUERY, userId);
+        log.info("Уменьшены счетчики лайков пользователя id= {} у фильмов: {}", userId, filmsUpdated);
+    }
+
+    public int reconcileLikesCount() {
+        return jdbc.update(RECONCILE_LIKES_COUNT_QUERY);
+    }
+
+    public boolean exists(Long filmId, Long userId) {
+        return Boolean.TRUE.equals(jdbc.queryForObject(EXISTS_LIKE_QUERY, Boolean.class, filmId, userId));
     }
 
     public List<Long> findFilmLikes(Long filmId) {
         return jdbc.queryForList(FIND_FILM_LIKES_QUERY, Long.class, filmId);
     }
 
+    public List<Long> findUserLikes(Long userId) {
+        return jdbc.queryForList(FIND_USER_LIKES_QUERY, Long.class, userId);
+    }
+
+    public void findAllLikes(BiConsumer<Long, Long> consumer) {
+        jdbc.query(FIND_ALL_LIKES_QUERY, rs -> {
+            consumer.accept(rs.getLong("film_id"), rs.getLong("user_id"));
+        });
+    }
+
     public List<Long> findPopularFilms() {
         return jdbc.queryForList(FIND_POPULAR_FILMS_QUERY, Long.class);
     }
+
+    public Map<Long, Long> findLikesCountByFilm() {
+        Map<Long, Long> likesCount = new HashMap<>();
+
+        jdbc.query(FIND_LIKES_COUNT_BY_FILM_QUERY, rs -> {
+            likesCount.put(rs.getLong("film_id"), rs.getLong("likes"));
+        });
+
+        return likesCount;
+    }
+
+    private void collectApplied(List<LikeChange> changes, int[] rows, int delta,
+                                List<LikeChange> applied, Map<Long, Integer> likesCountDelta) {
+        for (int idx = 0; idx < rows.length; idx++) {
+            if (rows[idx] > 0) {
+                LikeChange change = changes.get(idx);
+                applied.add(change);
+                likesCountDelta.merge(change.filmId(), delta, Integer::sum);
+            }
+        }
+    }
 }
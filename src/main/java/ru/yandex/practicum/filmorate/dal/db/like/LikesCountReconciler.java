@@ -0,0 +1,22 @@
+package ru.yandex.practicum.filmorate.dal.db.like;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LikesCountReconciler {
+    private final LikeDbRepository likeRepository;
+
+    public void reconcile() {
+        int repairedFilms = likeRepository.reconcileLikesCount();
+
+        if (repairedFilms > 0) {
+            log.warn("Счетчик лайков расходился с films_likes и был исправлен у {} фильмов", repairedFilms);
+        } else {
+            log.info("Счетчики лайков фильмов согласованы с films_likes");
+        }
+    }
+}
@@ -5,11 +5,13 @@ import org.intellij.lang.annotations.Language;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.yandex.practicum.filmorate.dal.db.base.BaseDbRepositoryImpl;
 import ru.yandex.practicum.filmorate.model.Review;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Slf4j
 @Repository
@@ -31,34 +33,32 @@ public class ReviewDbRepository extends BaseDbRepositoryImpl<Review> {
     @Language("SQL")
     private static final String FIND_REVIEWS_BY_FILM = """
             SELECT * FROM reviews WHERE film_id = ?
-            ORDER BY useful DESC LIMIT ?
+            ORDER BY useful DESC, review_id LIMIT ?
             """;
     @Language("SQL")
-    private static final String FIND_ALL_REVIEWS = "SELECT * FROM reviews ORDER BY useful DESC LIMIT ?";
+    private static final String FIND_ALL_REVIEWS = "SELECT * FROM reviews ORDER BY useful DESC, review_id LIMIT ?";
     @Language("SQL")
-    private static final String CHECK_USER_REACTION = """
-            SELECT rating FROM review_likes WHERE review_id = ? AND user_id = ?
-            """;
-    @Language("SQL")
-    private static final String INSERT_REACTION = """
-            INSERT INTO review_likes (review_id, user_id, rating) VALUES (?, ?, ?)
-            """;
+    private static final String FIND_EVERY_REVIEW = "SELECT * FROM reviews";
     @Language("SQL")
-    private static final String UPDATE_REACTION = """
-            UPDATE review_likes SET rating = ? WHERE review_id = ? AND user_id = ?
+    private static final String UPSERT_REACTION = """
+            SELECT rating
+            FROM OLD TABLE (
+                MERGE INTO review_likes AS rl
+                USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS INT))) AS v (review_id, user_id, rating)
+                ON rl.review_id = v.review_id AND rl.user_id = v.user_id
+                WHEN MATCHED THEN UPDATE SET rating = v.rating
+                WHEN NOT MATCHED THEN INSERT (review_id, user_id, rating) VALUES (v.review_id, v.user_id, v.rating)
+            )
             """;
     @Language("SQL")
     private static final String DELETE_REACTION = """
-            DELETE FROM review_likes WHERE review_id = ? AND user_id = ?
-            """;
-    @Language("SQL")
-    private static final String CALCULATE_USEFUL = """
-            SELECT COALESCE(SUM(rating), 0)
-            FROM review_likes
-            WHERE review_id = ?
+            SELECT rating
+            FROM OLD TABLE (
+                DELETE FROM review_likes WHERE review_id = ? AND user_id = ? AND rating = ?
+            )
             """;
     @Language("SQL")
-    private static final String UPDATE_USEFUL = "UPDATE reviews SET useful = ? WHERE review_id = ?";
+    private static final String CHANGE_USEFUL = "UPDATE reviews SET useful = useful + ? WHERE review_id = ?";
 
     public ReviewDbRepository(JdbcTemplate jdbc, RowMapper<Review> mapper) {
         super(jdbc, mapper);
@@ -81,7 +81,6 @@ public class ReviewDbRepository extends BaseDbRepositoryImpl<Review> {
                 review.getIsPositive(),
                 review.getReviewId());
 
-        updateUseful(review.getReviewId());
         return getById(review.getReviewId()).orElseThrow();
     }
 
@@ -102,78 +101,53 @@ public class ReviewDbRepository extends BaseDbRepositoryImpl<Review> {
         return findMany(FIND_ALL_REVIEWS, count);
     }
 
-    public void addLike(Long reviewId, Long userId) {
-        try {
-            Integer existingRating = jdbc.queryForObject(CHECK_USER_REACTION, Integer.class, reviewId, userId);
-
-            if (existingRating == null) {
-                jdbc.update(INSERT_REACTION, reviewId, userId, 1);
-            } else if (existingRating == -1) {
-                jdbc.update(UPDATE_REACTION, 1, reviewId, userId);
-            } else if (existingRating == 1) {
-                return;
-            }
-
-            updateUseful(reviewId);
-        } catch (Exception e) {
-            jdbc.update(INSERT_REACTION, reviewId, userId, 1);
-            updateUseful(reviewId);
-        }
+    public void findAll(Consumer<Review> consumer) {
+        jdbc.query(FIND_EVERY_REVIEW, rs -> {
+            consumer.accept(mapper.mapRow(rs, rs.getRow()));
+        });
     }
 
-    public void addDislike(Long reviewId, Long userId) {
-        try {
-            Integer existingRating = jdbc.queryForObject(CHECK_USER_REACTION, Integer.class, reviewId, userId);
-
-            if (existingRating == null) {
-                jdbc.update(INSERT_REACTION, reviewId, userId, -1);
-            } else if (existingRating == 1) {
-                jdbc.update(UPDATE_REACTION, -1, reviewId, userId);
-            } else if (existingRating == -1) {
-                return;
-            }
-
-            updateUseful(reviewId);
-        } catch (Exception e) {
-            jdbc.update(INSERT_REACTION, reviewId, userId, -1);
-            updateUseful(reviewId);
-        }
+    public int addLike(Long reviewId, Long userId) {
+        return vote(reviewId, userId, 1);
     }
 
-    public void removeLike(Long reviewId, Long userId) {
-        try {
-            Integer existingRating = jdbc.queryForObject(CHECK_USER_REACTION, Integer.class, reviewId, userId);
+    public int addDislike(Long reviewId, Long userId) {
+        return vote(reviewId, userId, -1);
+    }
 
-            if (existingRating != null && existingRating == 1) {
-                jdbc.update(DELETE_REACTION, reviewId, userId);
-                updateUseful(reviewId);
-            }
-        } catch (Exception e) {
-            log.debug("Ошибка при удалении лайка: {}", e.getMessage());
-        }
+    public int removeLike(Long reviewId, Long userId) {
+        return removeVote(reviewId, userId, 1);
+    }
+
+    public int removeDislike(Long reviewId, Long userId) {
+        return removeVote(reviewId, userId, -1);
     }
 
-    public void removeDislike(Long reviewId, Long userId) {
-        try {
-            Integer existingRating = jdbc.queryForObject(CHECK_USER_REACTION, Integer.class, reviewId, userId);
+    @Transactional
+    public int vote(Long reviewId, Long userId, int rating) {
+        List<Integer> previous = jdbc.queryForList(UPSERT_REACTION, Integer.class, reviewId, userId, rating);
+        int delta = previous.isEmpty() ? rating : rating - previous.getFirst();
 
-            if (existingRating != null && existingRating == -1) {
-                jdbc.update(DELETE_REACTION, reviewId, userId);
-                updateUseful(reviewId);
-            }
-        } catch (Exception e) {
-            log.debug("Ошибка при удалении дизлайка: {}", e.getMessage());
+        changeUseful(reviewId, delta);
+        return delta;
+    }
+
+    @Transactional
+    public int removeVote(Long reviewId, Long userId, int rating) {
+        List<Integer> removed = jdbc.queryForList(DELETE_REACTION, Integer.class, reviewId, userId, rating);
+
+        if (removed.isEmpty()) {
+            log.debug("Оценка {} отзыву id= {} от пользователя id= {} не найдена", rating, reviewId, userId);
+            return 0;
         }
+
+        changeUseful(reviewId, -rating);
+        return -rating;
     }
 
-    private void updateUseful(Long reviewId) {
-        try {
-            Integer useful = jdbc.queryForObject(CALCULATE_USEFUL, Integer.class, reviewId);
-            if (useful != null) {
-                jdbc.update(UPDATE_USEFUL, useful, reviewId);
-            }
-        } catch (Exception e) {
-            jdbc.update(UPDATE_USEFUL, 0, reviewId);
+    private void changeUseful(Long reviewId, int delta) {
+        if (delta != 0) {
+            jdbc.update(CHANGE_USEFUL, delta, reviewId);
         }
     }
-}
\ No newline at end of file
+}
@@ -6,21 +6,29 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import ru.yandex.practicum.filmorate.dal.db.base.AfterCommit;
 import ru.yandex.practicum.filmorate.dal.db.base.BaseDbRepositoryImpl;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
 import ru.yandex.practicum.filmorate.exception.InternalServerException;
 import ru.yandex.practicum.filmorate.model.User;
 
 import java.sql.Date;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 @Repository
 @Qualifier
 @Slf4j
 public class UserDbRepository extends BaseDbRepositoryImpl<User> {
-    public UserDbRepository(JdbcTemplate jdbc, RowMapper<User> mapper) {
+    private final EntityCache entityCache;
+
+    public UserDbRepository(JdbcTemplate jdbc, RowMapper<User> mapper, EntityCache entityCache) {
         super(jdbc, mapper);
+        this.entityCache = entityCache;
     }
 
     @Language("SQL")
@@ -37,10 +45,22 @@ public class UserDbRepository extends BaseDbRepositoryImpl<User> {
             SELECT * FROM users WHERE id = ?
             """;
     @Language("SQL")
+    private static final String EXISTS_USER_QUERY = """
+            SELECT EXISTS (SELECT 1 FROM users WHERE id = ?)
+            """;
+    @Language("SQL")
     private static final String FIND_ALL_USERS_QUERY = """
             SELECT * FROM users
             """;
     @Language("SQL")
+    private static final String FIND_USERS_PAGE_QUERY = """
+            SELECT * FROM users WHERE id > ? ORDER BY id LIMIT ?
+            """;
+    @Language("SQL")
+    private static final String FIND_USERS_BY_IDS_QUERY = """
+            SELECT * FROM users WHERE id IN (%s) ORDER BY id
+            """;
+    @Language("SQL")
     private static final String DELETE_USER_QUERY = """
             DELETE FROM users WHERE id = ?
             """;
@@ -54,6 +74,7 @@ public class UserDbRepository extends BaseDbRepositoryImpl<User> {
             throw new InternalServerException("Ошибка сохранения пользователя. Пользователь не найден");
         }
 
+        AfterCommit.run(() -> entityCache.putUser(savedUser.get()));
         return savedUser.get();
     }
 
@@ -66,19 +87,48 @@ public class UserDbRepository extends BaseDbRepositoryImpl<User> {
             throw new InternalServerException("Ошибка обновления пользователя. Пользователь не найден");
         }
 
+        entityCache.evictUser(user.getId());
+        AfterCommit.run(() -> entityCache.putUser(updateUser.get()));
         return updateUser.get();
     }
 
     public boolean delete(Long id) {
-        return delete(DELETE_USER_QUERY, id);
+        boolean deleted = delete(DELETE_USER_QUERY, id);
+        entityCache.evictUser(id);
+        AfterCommit.run(() -> entityCache.evictUser(id));
+        return deleted;
     }
 
     public Optional<User> findById(Long id) {
-        return findOne(FIND_ONE_USER_QUERY, id);
+        return entityCache.findUser(id, userId -> findOne(FIND_ONE_USER_QUERY, userId));
+    }
+
+    public boolean existsById(Long id) {
+        return entityCache.containsUser(id)
+                || Boolean.TRUE.equals(jdbc.queryForObject(EXISTS_USER_QUERY, Boolean.class, id));
     }
 
     public List<User> findAll() {
         return findMany(FIND_ALL_USERS_QUERY);
     }
-}
 
+    public List<User> findByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        String inSql = ids.stream()
+                .map(id -> "?")
+                .collect(Collectors.joining(", "));
+
+        return findMany(FIND_USERS_BY_IDS_QUERY.formatted(inSql), ids.toArray());
+    }
+
+    public List<User> findPage(long afterId, int limit) {
+        return findMany(FIND_USERS_PAGE_QUERY, afterId, limit);
+    }
+
+    public Stream<User> streamAll(long afterId, int limit) {
+        return jdbc.queryForStream(FIND_USERS_PAGE_QUERY, mapper, afterId, limit);
+    }
+}
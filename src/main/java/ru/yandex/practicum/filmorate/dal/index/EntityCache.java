@@ -0,0 +1,125 @@
+package ru.yandex.practicum.filmorate.dal.index;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+@Slf4j
+@Component
+public class EntityCache implements MeterBinder {
+    private final Cache<Long, Film> films;
+    private final Cache<Long, User> users;
+
+    public EntityCache(@Value("${filmorate.cache.films.maximum-size:10000}") long filmsMaximumSize,
+                       @Value("${filmorate.cache.users.maximum-size:10000}") long usersMaximumSize) {
+        this.films = build(filmsMaximumSize);
+        this.users = build(usersMaximumSize);
+        log.info("Кэш сущностей создан: фильмов до {}, пользователей до {}", filmsMaximumSize, usersMaximumSize);
+    }
+
+    public Optional<Film> findFilm(Long filmId, Function<Long, Optional<Film>> loader) {
+        return find(films, filmId, loader, EntityCache::copyFilm);
+    }
+
+    public boolean containsFilm(Long filmId) {
+        return filmId != null && films.getIfPresent(filmId) != null;
+    }
+
+    public void putFilm(Film film) {
+        films.put(film.getId(), copyFilm(film));
+    }
+
+    public void evictFilm(Long filmId) {
+        films.invalidate(filmId);
+    }
+
+    public void evictAllFilms() {
+        films.invalidateAll();
+    }
+
+    public CacheStats filmStats() {
+        return films.stats();
+    }
+
+    public Optional<User> findUser(Long userId, Function<Long, Optional<User>> loader) {
+        return find(users, userId, loader, EntityCache::copyUser);
+    }
+
+    public boolean containsUser(Long userId) {
+        return userId != null && users.getIfPresent(userId) != null;
+    }
+
+    public void putUser(User user) {
+        users.put(user.getId(), copyUser(user));
+    }
+
+    public void evictUser(Long userId) {
+        users.invalidate(userId);
+    }
+
+    public CacheStats userStats() {
+        return users.stats();
+    }
+
+    public void invalidateAll() {
+        films.invalidateAll();
+        users.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(@NotNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, films, "films");
+        CaffeineCacheMetrics.monitor(registry, users, "users");
+    }
+
+    private static <T> Cache<Long, T> build(long maximumSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    private static <T> Optional<T> find(Cache<Long, T> cache, Long id, Function<Long, Optional<T>> loader,
+                                        UnaryOperator<T> copier) {
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        T value = cache.get(id, key -> loader.apply(key).map(copier).orElse(null));
+        return Optional.ofNullable(value).map(copier);
+    }
+
+    private static Film copyFilm(Film film) {
+        return film.toBuilder()
+                .likes(copyOf(film.getLikes()))
+                .genres(copyOf(film.getGenres()))
+                .directors(copyOf(film.getDirectors()))
+                .build();
+    }
+
+    private static <T> Set<T> copyOf(Set<T> values) {
+        return values == null ? new LinkedHashSet<>() : new LinkedHashSet<>(values);
+    }
+
+    private static User copyUser(User user) {
+        return user.toBuilder()
+                .friends(user.getFriends() == null ? new HashMap<>() : new HashMap<>(user.getFriends()))
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package ru.yandex.practicum.filmorate.dal.index;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.dal.db.like.LikeDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.like.LikesCountReconciler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FilmLikesLeaderboard {
+    private final LikeDbRepository likeRepository;
+    private final LikesCountReconciler likesCountReconciler;
+
+    private final Map<Long, Long> likesByFilm = new HashMap<>();
+    private final TreeSet<Rank> ranking = new TreeSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void load() {
+        likesCountReconciler.reconcile();
+        Map<Long, Long> likesCount = likeRepository.findLikesCountByFilm();
+
+        lock.writeLock().lock();
+        try {
+            likesByFilm.clear();
+            ranking.clear();
+            likesCount.forEach((filmId, likes) -> {
+                likesByFilm.put(filmId, likes);
+                ranking.add(new Rank(filmId, likes));
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Рейтинг популярных фильмов загружен, фильмов в рейтинге: {}", likesCount.size());
+    }
+
+    public void addFilm(Long filmId) {
+        lock.writeLock().lock();
+        try {
+            if (likesByFilm.putIfAbsent(filmId, 0L) == null) {
+                ranking.add(new Rank(filmId, 0L));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeFilm(Long filmId) {
+        lock.writeLock().lock();
+        try {
+            Long likes = likesByFilm.remove(filmId);
+
+            if (likes != null) {
+                ranking.remove(new Rank(filmId, likes));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void changeLikes(Long filmId, long delta) {
+        if (!changeLikesIfPresent(filmId, delta)) {
+            log.warn("Изменение лайков фильма id= {}, отсутствующего в рейтинге", filmId);
+        }
+    }
+
+    public boolean changeLikesIfPresent(Long filmId, long delta) {
+        lock.writeLock().lock();
+        try {
+            Long likes = likesByFilm.get(filmId);
+
+            if (likes == null) {
+                return false;
+            }
+
+            ranking.remove(new Rank(filmId, likes));
+            long updatedLikes = Math.max(0L, likes + delta);
+            likesByFilm.put(filmId, updatedLikes);
+            ranking.add(new Rank(filmId, updatedLikes));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long getLikes(Long filmId) {
+        lock.readLock().lock();
+        try {
+            return likesByFilm.getOrDefault(filmId, 0L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> findTop(int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Long> filmIds = new ArrayList<>(Math.min(count, ranking.size()));
+            Iterator<Rank> iterator = ranking.iterator();
+
+            while (iterator.hasNext() && filmIds.size() < count) {
+                filmIds.add(iterator.next().filmId());
+            }
+
+            return filmIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> rank(Collection<Long> filmIds) {
+        lock.readLock().lock();
+        try {
+            return filmIds.stream()
+                    .map(filmId -> new Rank(filmId, likesByFilm.getOrDefault(filmId, 0L)))
+                    .sorted()
+                    .map(Rank::filmId)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> findAll() {
+        return findTop(Integer.MAX_VALUE);
+    }
+
+    private record Rank(long filmId, long likes) implements Comparable<Rank> {
+        @Override
+        public int compareTo(@NotNull Rank other) {
+            int byLikes = Long.compare(other.likes, likes);
+            return byLikes != 0 ? byLikes : Long.compare(filmId, other.filmId);
+        }
+    }
+}
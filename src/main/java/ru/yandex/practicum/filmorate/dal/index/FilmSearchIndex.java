@@ -0,0 +1,237 @@
+package ru.yandex.practicum.filmorate.dal.index;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.intellij.lang.annotations.Language;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.model.Director;
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FilmSearchIndex {
+    private static final int GRAM_SIZE = 3;
+
+    @Language("SQL")
+    private static final String FIND_FILM_TITLES_QUERY = """
+            SELECT id, name FROM films
+            """;
+    @Language("SQL")
+    private static final String FIND_DIRECTOR_NAMES_QUERY = """
+            SELECT id, name FROM directors
+            """;
+    @Language("SQL")
+    private static final String FIND_FILM_DIRECTORS_QUERY = """
+            SELECT film_id, director_id FROM film_directors
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    private final TrigramIndex titles = new TrigramIndex();
+    private final TrigramIndex directorNames = new TrigramIndex();
+    private final Map<Long, Set<Long>> filmsByDirector = new HashMap<>();
+    private final Map<Long, Set<Long>> directorsByFilm = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            titles.clear();
+            directorNames.clear();
+            filmsByDirector.clear();
+            directorsByFilm.clear();
+
+            jdbc.query(FIND_FILM_TITLES_QUERY, rs -> {
+                titles.put(rs.getLong("id"), rs.getString("name"));
+            });
+            jdbc.query(FIND_DIRECTOR_NAMES_QUERY, rs -> {
+                directorNames.put(rs.getLong("id"), rs.getString("name"));
+            });
+            jdbc.query(FIND_FILM_DIRECTORS_QUERY, rs -> {
+                link(rs.getLong("film_id"), rs.getLong("director_id"));
+            });
+
+            log.info("Поисковый индекс загружен, фильмов: {}, режиссеров: {}", titles.size(), directorNames.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putFilm(Film film) {
+        lock.writeLock().lock();
+        try {
+            titles.put(film.getId(), film.getName());
+            unlinkFilm(film.getId());
+            if (film.getDirectors() != null) {
+                for (Director director : film.getDirectors()) {
+                    link(film.getId(), director.getId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeFilm(Long filmId) {
+        lock.writeLock().lock();
+        try {
+            titles.remove(filmId);
+            unlinkFilm(filmId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putDirector(Director director) {
+        lock.writeLock().lock();
+        try {
+            directorNames.put(director.getId(), director.getName());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeDirector(Long directorId) {
+        lock.writeLock().lock();
+        try {
+            directorNames.remove(directorId);
+            Set<Long> filmIds = filmsByDirector.remove(directorId);
+
+            if (filmIds != null) {
+                for (Long filmId : filmIds) {
+                    Set<Long> directorIds = directorsByFilm.get(filmId);
+                    directorIds.remove(directorId);
+                    if (directorIds.isEmpty()) {
+                        directorsByFilm.remove(filmId);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Set<Long> search(String query, boolean byTitle, boolean byDirector) {
+        String needle = normalize(query);
+        Set<Long> filmIds = new HashSet<>();
+
+        lock.readLock().lock();
+        try {
+            if (byTitle) {
+                filmIds.addAll(titles.search(needle));
+            }
+
+            if (byDirector) {
+                for (Long directorId : directorNames.search(needle)) {
+                    filmIds.addAll(filmsByDirector.getOrDefault(directorId, Set.of()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return filmIds;
+    }
+
+    private void link(Long filmId, Long directorId) {
+        filmsByDirector.computeIfAbsent(directorId, id -> new HashSet<>()).add(filmId);
+        directorsByFilm.computeIfAbsent(filmId, id -> new HashSet<>()).add(directorId);
+    }
+
+    private void unlinkFilm(Long filmId) {
+        Set<Long> directorIds = directorsByFilm.remove(filmId);
+
+        if (directorIds != null) {
+            for (Long directorId : directorIds) {
+                Set<Long> filmIds = filmsByDirector.get(directorId);
+                filmIds.remove(filmId);
+                if (filmIds.isEmpty()) {
+                    filmsByDirector.remove(directorId);
+                }
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static long gram(String text, int from) {
+        return (long) text.charAt(from) << 32 | (long) text.charAt(from + 1) << 16 | text.charAt(from + 2);
+    }
+
+    private static final class TrigramIndex {
+        private final Map<Long, String> texts = new HashMap<>();
+        private final Map<Long, Set<Long>> postings = new HashMap<>();
+
+        private void put(Long id, String text) {
+            remove(id);
+            String normalized = normalize(text);
+            texts.put(id, normalized);
+
+            for (int i = 0; i + GRAM_SIZE <= normalized.length(); i++) {
+                postings.computeIfAbsent(gram(normalized, i), gram -> new HashSet<>()).add(id);
+            }
+        }
+
+        private void remove(Long id) {
+            String text = texts.remove(id);
+
+            if (text != null) {
+                for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+                    long gram = gram(text, i);
+                    Set<Long> ids = postings.get(gram);
+                    if (ids != null) {
+                        ids.remove(id);
+                        if (ids.isEmpty()) {
+                            postings.remove(gram);
+                        }
+                    }
+                }
+            }
+        }
+
+        private Set<Long> search(String needle) {
+            Set<Long> candidates = texts.keySet();
+
+            for (int i = 0; i + GRAM_SIZE <= needle.length(); i++) {
+                Set<Long> ids = postings.get(gram(needle, i));
+                if (ids == null) {
+                    return Set.of();
+                }
+                if (ids.size() < candidates.size()) {
+                    candidates = ids;
+                }
+            }
+
+            Set<Long> matches = new HashSet<>();
+            for (Long id : candidates) {
+                if (texts.get(id).contains(needle)) {
+                    matches.add(id);
+                }
+            }
+            return matches;
+        }
+
+        private int size() {
+            return texts.size();
+        }
+
+        private void clear() {
+            texts.clear();
+            postings.clear();
+        }
+    }
+}
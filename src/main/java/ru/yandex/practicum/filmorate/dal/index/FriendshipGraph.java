@@ -0,0 +1,322 @@
+package ru.yandex.practicum.filmorate.dal.index;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.dal.db.friendship.FriendshipDbRepository;
+import ru.yandex.practicum.filmorate.enums.FriendshipStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FriendshipGraph {
+    private static final int OUTGOING_BIT = 1;
+    private static final int CONFIRMED_BIT = 2;
+    private static final int MAX_VERTEX = Integer.MAX_VALUE >> 2;
+    private static final int[] NO_EDGES = new int[0];
+
+    private final FriendshipDbRepository friendshipRepository;
+
+    private int[][] adjacency = new int[0][];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void load() {
+        EdgeBuffer buffer = new EdgeBuffer();
+
+        friendshipRepository.findAllFriendships(FriendshipStatus.CONFIRMED,
+                (userId, friendId) -> buffer.add(toVertex(userId), edge(toVertex(friendId), true)));
+        friendshipRepository.findAllFriendships(FriendshipStatus.NOT_CONFIRMED,
+                (userId, friendId) -> buffer.add(toVertex(userId), edge(toVertex(friendId), false)));
+
+        int friendships = buffer.size;
+        int[][] outgoing = buffer.build();
+        for (int user = 0; user < outgoing.length; user++) {
+            for (int edge : edges(outgoing, user)) {
+                if (find(edges(outgoing, vertex(edge)), user) < 0) {
+                    buffer.add(vertex(edge), incoming(user));
+                }
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            adjacency = buffer.build();
+            log.info("Граф дружбы загружен, связей: {}", friendships);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<FriendshipStatus> findStatus(Long userId, Long friendId) {
+        lock.readLock().lock();
+        try {
+            int[] edges = edges(lookupVertex(userId));
+            int friend = lookupVertex(friendId);
+            int position = friend < 0 ? -1 : find(edges, friend);
+
+            if (position < 0 || !isOutgoing(edges[position])) {
+                return Optional.empty();
+            }
+
+            return Optional.of(isConfirmed(edges[position])
+                    ? FriendshipStatus.CONFIRMED
+                    : FriendshipStatus.NOT_CONFIRMED);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void addFriend(Long userId, Long friendId) {
+        int user = toVertex(userId);
+        int friend = toVertex(friendId);
+
+        lock.writeLock().lock();
+        try {
+            put(user, edge(friend, true));
+            if (!hasOutgoing(friend, user)) {
+                put(friend, edge(user, false));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeFriend(Long userId, Long friendId) {
+        int user = toVertex(userId);
+        int friend = toVertex(friendId);
+
+        lock.writeLock().lock();
+        try {
+            if (hasOutgoing(friend, user)) {
+                put(user, incoming(friend));
+            } else {
+                remove(user, friend);
+                remove(friend, user);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeUser(Long userId) {
+        int user = toVertex(userId);
+
+        lock.writeLock().lock();
+        try {
+            for (int edge : edges(user)) {
+                remove(vertex(edge), user);
+            }
+            if (user < adjacency.length) {
+                adjacency[user] = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> findFriends(Long userId) {
+        lock.readLock().lock();
+        try {
+            int[] edges = edges(lookupVertex(userId));
+            List<Long> friends = new ArrayList<>(edges.length);
+
+            for (int edge : edges) {
+                if (isConfirmed(edge)) {
+                    friends.add((long) vertex(edge));
+                }
+            }
+
+            return friends;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> findCommonFriends(Long userId, Long otherUserId) {
+        lock.readLock().lock();
+        try {
+            int[] first = edges(lookupVertex(userId));
+            int[] second = edges(lookupVertex(otherUserId));
+            List<Long> common = new ArrayList<>();
+            int i = 0;
+            int j = 0;
+
+            while (i < first.length && j < second.length) {
+                int byVertex = Integer.compare(vertex(first[i]), vertex(second[j]));
+
+                if (byVertex < 0) {
+                    i++;
+                } else if (byVertex > 0) {
+                    j++;
+                } else {
+                    if (isConfirmed(first[i]) && isConfirmed(second[j])) {
+                        common.add((long) vertex(first[i]));
+                    }
+                    i++;
+                    j++;
+                }
+            }
+
+            return common;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] edges(int vertex) {
+        return edges(adjacency, vertex);
+    }
+
+    private boolean hasOutgoing(int user, int friend) {
+        int[] edges = edges(user);
+        int position = find(edges, friend);
+        return position >= 0 && isOutgoing(edges[position]);
+    }
+
+    private void put(int user, int edge) {
+        int friend = vertex(edge);
+
+        if (user >= adjacency.length) {
+            adjacency = Arrays.copyOf(adjacency, Math.max(user + 1, adjacency.length * 2));
+        }
+
+        int[] edges = adjacency[user] == null ? NO_EDGES : adjacency[user];
+        int position = find(edges, friend);
+
+        if (position >= 0) {
+            int[] updated = edges.clone();
+            updated[position] = edge;
+            adjacency[user] = updated;
+            return;
+        }
+
+        int insertAt = -position - 1;
+        int[] updated = new int[edges.length + 1];
+        System.arraycopy(edges, 0, updated, 0, insertAt);
+        updated[insertAt] = edge;
+        System.arraycopy(edges, insertAt, updated, insertAt + 1, edges.length - insertAt);
+        adjacency[user] = updated;
+    }
+
+    private void remove(int user, int friend) {
+        if (user >= adjacency.length || adjacency[user] == null) {
+            return;
+        }
+
+        int[] edges = adjacency[user];
+        int position = find(edges, friend);
+
+        if (position < 0) {
+            return;
+        }
+
+        int[] updated = new int[edges.length - 1];
+        System.arraycopy(edges, 0, updated, 0, position);
+        System.arraycopy(edges, position + 1, updated, position, edges.length - position - 1);
+        adjacency[user] = updated.length == 0 ? null : updated;
+    }
+
+    private static int[] edges(int[][] rows, int vertex) {
+        if (vertex < 0 || vertex >= rows.length || rows[vertex] == null) {
+            return NO_EDGES;
+        }
+        return rows[vertex];
+    }
+
+    private static int find(int[] edges, int friend) {
+        int position = Arrays.binarySearch(edges, incoming(friend));
+
+        if (position >= 0) {
+            return position;
+        }
+
+        int next = -position - 1;
+        return next < edges.length && vertex(edges[next]) == friend ? next : -next - 1;
+    }
+
+    private static int edge(int friend, boolean confirmed) {
+        return friend << 2 | OUTGOING_BIT | (confirmed ? CONFIRMED_BIT : 0);
+    }
+
+    private static int incoming(int friend) {
+        return friend << 2;
+    }
+
+    private static int vertex(int edge) {
+        return edge >>> 2;
+    }
+
+    private static boolean isOutgoing(int edge) {
+        return (edge & OUTGOING_BIT) != 0;
+    }
+
+    private static boolean isConfirmed(int edge) {
+        return (edge & CONFIRMED_BIT) != 0;
+    }
+
+    private static int lookupVertex(Long userId) {
+        return userId == null || userId < 0 || userId > MAX_VERTEX ? -1 : userId.intValue();
+    }
+
+    private static int toVertex(Long userId) {
+        if (userId == null || userId < 0 || userId > MAX_VERTEX) {
+            throw new IllegalArgumentException("Идентификатор пользователя вне диапазона графа дружбы: " + userId);
+        }
+        return userId.intValue();
+    }
+
+    private static class EdgeBuffer {
+        private int[] users = new int[64];
+        private int[] edges = new int[64];
+        private int size;
+
+        private void add(int user, int edge) {
+            if (size == users.length) {
+                users = Arrays.copyOf(users, size * 2);
+                edges = Arrays.copyOf(edges, size * 2);
+            }
+            users[size] = user;
+            edges[size] = edge;
+            size++;
+        }
+
+        private int[][] build() {
+            int vertexCount = 0;
+            for (int i = 0; i < size; i++) {
+                vertexCount = Math.max(vertexCount, users[i] + 1);
+            }
+
+            int[] degrees = new int[vertexCount];
+            for (int i = 0; i < size; i++) {
+                degrees[users[i]]++;
+            }
+
+            int[][] result = new int[vertexCount][];
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                result[vertex] = degrees[vertex] == 0 ? null : new int[degrees[vertex]];
+                degrees[vertex] = 0;
+            }
+
+            for (int i = 0; i < size; i++) {
+                result[users[i]][degrees[users[i]]++] = edges[i];
+            }
+
+            for (int[] vertexEdges : result) {
+                if (vertexEdges != null) {
+                    Arrays.sort(vertexEdges);
+                }
+            }
+
+            return result;
+        }
+    }
+}
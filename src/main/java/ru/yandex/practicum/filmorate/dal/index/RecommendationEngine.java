@@ -0,0 +1,339 @@
+package ru.yandex.practicum.filmorate.dal.index;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.dal.db.like.LikeDbRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+public class RecommendationEngine {
+    private final LikeDbRepository likeRepository;
+    private final int neighbourCount;
+    private final int neighbourCapacity;
+
+    private final Map<Integer, RoaringBitmap> filmsByUser = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> usersByFilm = new HashMap<>();
+    private final Map<Integer, Neighbours> neighboursByUser = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public RecommendationEngine(LikeDbRepository likeRepository,
+                                @Value("${filmorate.recommendations.neighbours:10}") int neighbourCount,
+                                @Value("${filmorate.recommendations.neighbour-reserve:10}") int neighbourReserve) {
+        this.likeRepository = likeRepository;
+        this.neighbourCount = neighbourCount;
+        this.neighbourCapacity = neighbourCount + neighbourReserve;
+    }
+
+    @PostConstruct
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            filmsByUser.clear();
+            usersByFilm.clear();
+
+            likeRepository.findAllLikes((filmId, userId) -> addLike(toInt(filmId), toInt(userId)));
+            log.info("Движок рекомендаций загружен, пользователей с лайками: {}", filmsByUser.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        neighboursByUser.clear();
+    }
+
+    public void changeLike(Long filmId, Long userId, boolean liked) {
+        int film = toInt(filmId);
+        int user = toInt(userId);
+
+        lock.writeLock().lock();
+        try {
+            boolean changed = liked ? addLike(film, user) : removeLike(film, user);
+            if (!changed) {
+                return;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        RoaringBitmap likers = findLikers(film);
+        likers.remove(user);
+        int[] others = likers.toArray();
+        int[] overlaps = new int[others.length];
+
+        for (int i = 0; i < others.length; i++) {
+            overlaps[i] = findOverlap(user, others[i]);
+        }
+
+        neighboursByUser.computeIfPresent(user, (id, neighbours) -> {
+            for (int i = 0; i < others.length; i++) {
+                neighbours = adjustNeighbour(id, neighbours, others[i], overlaps[i]);
+            }
+            return neighbours;
+        });
+
+        for (int i = 0; i < others.length; i++) {
+            int overlap = overlaps[i];
+            neighboursByUser.computeIfPresent(others[i],
+                    (id, neighbours) -> adjustNeighbour(id, neighbours, user, overlap));
+        }
+    }
+
+    public void removeFilm(Long filmId) {
+        int film = toInt(filmId);
+        RoaringBitmap likers;
+
+        lock.writeLock().lock();
+        try {
+            likers = usersByFilm.remove(film);
+
+            if (likers != null) {
+                for (int user : likers) {
+                    removeFromUser(film, user);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (likers != null) {
+            likers.forEach((int user) -> neighboursByUser.remove(user));
+        }
+    }
+
+    public void removeUser(Long userId) {
+        int user = toInt(userId);
+        RoaringBitmap films;
+
+        lock.writeLock().lock();
+        try {
+            films = filmsByUser.remove(user);
+
+            if (films != null) {
+                for (int film : films) {
+                    RoaringBitmap likers = usersByFilm.get(film);
+                    likers.remove(user);
+                    if (likers.isEmpty()) {
+                        usersByFilm.remove(film);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        neighboursByUser.remove(user);
+
+        if (films != null) {
+            for (int other : findLikers(films)) {
+                neighboursByUser.computeIfPresent(other, (id, neighbours) -> adjustNeighbour(id, neighbours, user, 0));
+            }
+        }
+    }
+
+    public List<Long> recommend(Long userId, int limit) {
+        if (limit <= 0 || userId < Integer.MIN_VALUE || userId > Integer.MAX_VALUE) {
+            return List.of();
+        }
+
+        int user = userId.intValue();
+        List<Neighbour> neighbours = neighboursByUser.computeIfAbsent(user, this::computeNeighbours).top();
+
+        lock.readLock().lock();
+        try {
+            return blend(user, neighbours.subList(0, Math.min(neighbours.size(), neighbourCount)), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> blend(int user, List<Neighbour> neighbours, int limit) {
+        RoaringBitmap seen = filmsByUser.getOrDefault(user, new RoaringBitmap());
+        Map<Integer, Long> scores = new HashMap<>();
+
+        for (Neighbour neighbour : neighbours) {
+            RoaringBitmap films = filmsByUser.get(neighbour.userId());
+            if (films == null) {
+                continue;
+            }
+
+            RoaringBitmap unseen = RoaringBitmap.andNot(films, seen);
+            for (int film : unseen) {
+                scores.merge(film, (long) neighbour.overlap(), Long::sum);
+            }
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(entry -> (long) entry.getKey())
+                .toList();
+    }
+
+    private Neighbours computeNeighbours(int user) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap films = filmsByUser.get(user);
+            if (films == null) {
+                return new Neighbours(List.of(), true);
+            }
+
+            RoaringBitmap candidates = findLikers(films);
+            candidates.remove(user);
+
+            List<Neighbour> neighbours = new ArrayList<>();
+            for (int candidate : candidates) {
+                int overlap = RoaringBitmap.andCardinality(films, filmsByUser.get(candidate));
+                Neighbour neighbour = new Neighbour(candidate, overlap);
+                int position = insertionPoint(neighbours, neighbour);
+
+                if (position < neighbourCapacity) {
+                    neighbours.add(position, neighbour);
+                    if (neighbours.size() > neighbourCapacity) {
+                        neighbours.removeLast();
+                    }
+                }
+            }
+            return new Neighbours(List.copyOf(neighbours), candidates.getCardinality() <= neighbourCapacity);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap findLikers(int film) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap likers = usersByFilm.get(film);
+            return likers != null ? likers.clone() : new RoaringBitmap();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap findLikers(RoaringBitmap films) {
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> likers = new ArrayList<>(films.getCardinality());
+            for (int film : films) {
+                RoaringBitmap filmLikers = usersByFilm.get(film);
+                if (filmLikers != null) {
+                    likers.add(filmLikers);
+                }
+            }
+            return FastAggregation.or(likers.iterator());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Neighbours adjustNeighbour(int user, Neighbours neighbours, int changedUser, int overlap) {
+        List<Neighbour> adjusted = new ArrayList<>(neighbours.top());
+        boolean complete = neighbours.complete();
+        int currentOverlap = 0;
+
+        for (int i = 0; i < adjusted.size(); i++) {
+            if (adjusted.get(i).userId() == changedUser) {
+                currentOverlap = adjusted.remove(i).overlap();
+                break;
+            }
+        }
+
+        if (currentOverlap == overlap) {
+            return neighbours;
+        }
+
+        if (overlap > 0) {
+            Neighbour changed = new Neighbour(changedUser, overlap);
+            int position = insertionPoint(adjusted, changed);
+
+            if (complete || position < adjusted.size()) {
+                adjusted.add(position, changed);
+                if (adjusted.size() > neighbourCapacity) {
+                    adjusted.removeLast();
+                    complete = false;
+                }
+            }
+        }
+
+        if (!complete && adjusted.size() < neighbourCount) {
+            return computeNeighbours(user);
+        }
+        return new Neighbours(List.copyOf(adjusted), complete);
+    }
+
+    private int findOverlap(int user, int otherUser) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap films = filmsByUser.get(user);
+            RoaringBitmap otherFilms = filmsByUser.get(otherUser);
+            return films == null || otherFilms == null ? 0 : RoaringBitmap.andCardinality(films, otherFilms);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int insertionPoint(List<Neighbour> neighbours, Neighbour neighbour) {
+        int position = 0;
+        while (position < neighbours.size() && neighbours.get(position).compareTo(neighbour) < 0) {
+            position++;
+        }
+        return position;
+    }
+
+    private boolean addLike(int film, int user) {
+        if (!filmsByUser.computeIfAbsent(user, id -> new RoaringBitmap()).checkedAdd(film)) {
+            return false;
+        }
+
+        usersByFilm.computeIfAbsent(film, id -> new RoaringBitmap()).add(user);
+        return true;
+    }
+
+    private boolean removeLike(int film, int user) {
+        RoaringBitmap likers = usersByFilm.get(film);
+        if (likers == null || !likers.checkedRemove(user)) {
+            return false;
+        }
+
+        if (likers.isEmpty()) {
+            usersByFilm.remove(film);
+        }
+        removeFromUser(film, user);
+        return true;
+    }
+
+    private void removeFromUser(int film, int user) {
+        RoaringBitmap films = filmsByUser.get(user);
+        films.remove(film);
+        if (films.isEmpty()) {
+            filmsByUser.remove(user);
+        }
+    }
+
+    private static int toInt(Long id) {
+        return Math.toIntExact(id);
+    }
+
+    private record Neighbours(List<Neighbour> top, boolean complete) {
+    }
+
+    private record Neighbour(int userId, int overlap) implements Comparable<Neighbour> {
+        @Override
+        public int compareTo(@NotNull Neighbour other) {
+            int byOverlap = Integer.compare(other.overlap, overlap);
+            return byOverlap != 0 ? byOverlap : Integer.compare(userId, other.userId);
+        }
+    }
+}
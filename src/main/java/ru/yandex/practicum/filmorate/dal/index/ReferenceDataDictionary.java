@@ -0,0 +1,110 @@
+package ru.yandex.practicum.filmorate.dal.index;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.intellij.lang.annotations.Language;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.enums.FriendshipStatus;
+import ru.yandex.practicum.filmorate.model.Genre;
+import ru.yandex.practicum.filmorate.model.Mpa;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.function.ToLongFunction;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataDictionary {
+    @Language("SQL")
+    private static final String FIND_ALL_MPA_QUERY = """
+            SELECT * FROM mpa ORDER BY id
+            """;
+    @Language("SQL")
+    private static final String FIND_ALL_GENRES_QUERY = """
+            SELECT * FROM genres ORDER BY id
+            """;
+    @Language("SQL")
+    private static final String FIND_ALL_FRIENDSHIP_STATUSES_QUERY = """
+            SELECT id, name FROM friendship_status
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final RowMapper<Mpa> mpaMapper;
+    private final RowMapper<Genre> genreMapper;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @PostConstruct
+    public void load() {
+        List<Mpa> mpa = jdbc.query(FIND_ALL_MPA_QUERY, mpaMapper);
+        List<Genre> genres = jdbc.query(FIND_ALL_GENRES_QUERY, genreMapper);
+        long[] statusIds = new long[FriendshipStatus.values().length];
+
+        jdbc.query(FIND_ALL_FRIENDSHIP_STATUSES_QUERY, rs -> {
+            statusIds[FriendshipStatus.valueOf(rs.getString("name")).ordinal()] = rs.getLong("id");
+        });
+
+        snapshot = new Snapshot(
+                toArray(mpa, Mpa::getId, Mpa[]::new),
+                toArray(genres, Genre::getId, Genre[]::new),
+                List.copyOf(mpa),
+                List.copyOf(genres),
+                statusIds);
+        log.info("Справочники загружены: MPA {}, жанров {}", mpa.size(), genres.size());
+    }
+
+    public void invalidate() {
+        log.info("Справочники сброшены, перезагрузка");
+        load();
+    }
+
+    public Optional<Mpa> findMpa(Long mpaId) {
+        return Optional.ofNullable(lookup(snapshot.mpaById(), mpaId));
+    }
+
+    public List<Mpa> findAllMpa() {
+        return snapshot.mpa();
+    }
+
+    public Optional<Genre> findGenre(Long genreId) {
+        return Optional.ofNullable(lookup(snapshot.genresById(), genreId));
+    }
+
+    public List<Genre> findAllGenres() {
+        return snapshot.genres();
+    }
+
+    public Optional<Long> findFriendshipStatusId(FriendshipStatus status) {
+        long statusId = snapshot.friendshipStatusIds()[status.ordinal()];
+        return statusId == 0 ? Optional.empty() : Optional.of(statusId);
+    }
+
+    private static <T> T lookup(T[] values, Long id) {
+        if (id == null || id < 0 || id >= values.length) {
+            return null;
+        }
+        return values[id.intValue()];
+    }
+
+    private static <T> T[] toArray(List<T> values, ToLongFunction<T> idGetter, IntFunction<T[]> factory) {
+        int size = (int) values.stream()
+                .mapToLong(idGetter)
+                .max()
+                .orElse(-1) + 1;
+        T[] array = factory.apply(size);
+
+        values.forEach(value -> array[Math.toIntExact(idGetter.applyAsLong(value))] = value);
+        return array;
+    }
+
+    private record Snapshot(Mpa[] mpaById, Genre[] genresById, List<Mpa> mpa, List<Genre> genres,
+                            long[] friendshipStatusIds) {
+        private static final Snapshot EMPTY = new Snapshot(new Mpa[0], new Genre[0], List.of(), List.of(),
+                new long[FriendshipStatus.values().length]);
+    }
+}
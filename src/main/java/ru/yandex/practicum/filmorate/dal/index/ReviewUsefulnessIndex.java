@@ -0,0 +1,175 @@
+package ru.yandex.practicum.filmorate.dal.index;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.dal.db.review.ReviewDbRepository;
+import ru.yandex.practicum.filmorate.model.Review;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReviewUsefulnessIndex {
+    private final ReviewDbRepository reviewRepository;
+
+    private final Map<Long, Review> reviewsById = new HashMap<>();
+    private final Map<Long, TreeSet<Rank>> rankingByFilm = new HashMap<>();
+    private final TreeSet<Rank> ranking = new TreeSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            reviewsById.clear();
+            rankingByFilm.clear();
+            ranking.clear();
+            reviewRepository.findAll(this::add);
+            log.info("Рейтинг полезности отзывов загружен, отзывов: {}", reviewsById.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putReview(Review review) {
+        lock.writeLock().lock();
+        try {
+            remove(review.getReviewId());
+            add(review.toBuilder().build());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateReview(Review review) {
+        lock.writeLock().lock();
+        try {
+            Review indexed = reviewsById.get(review.getReviewId());
+
+            if (indexed == null) {
+                add(review.toBuilder().build());
+                return;
+            }
+
+            reviewsById.put(review.getReviewId(), indexed.toBuilder()
+                    .content(review.getContent())
+                    .isPositive(review.getIsPositive())
+                    .build());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeReview(Long reviewId) {
+        lock.writeLock().lock();
+        try {
+            remove(reviewId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void changeUseful(Long reviewId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Review review = remove(reviewId);
+
+            if (review == null) {
+                log.warn("Изменение полезности отзыва id= {}, отсутствующего в рейтинге", reviewId);
+                return;
+            }
+
+            add(review.toBuilder()
+                    .useful(review.getUseful() + delta)
+                    .build());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Review> findTop(int count) {
+        lock.readLock().lock();
+        try {
+            return top(ranking, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Review> findTopByFilm(Long filmId, int count) {
+        lock.readLock().lock();
+        try {
+            TreeSet<Rank> filmRanking = rankingByFilm.get(filmId);
+            return filmRanking == null ? List.of() : top(filmRanking, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Review> top(TreeSet<Rank> source, int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+
+        List<Review> reviews = new ArrayList<>(Math.min(count, source.size()));
+        Iterator<Rank> iterator = source.iterator();
+
+        while (iterator.hasNext() && reviews.size() < count) {
+            reviews.add(reviewsById.get(iterator.next().reviewId()).toBuilder().build());
+        }
+
+        return reviews;
+    }
+
+    private void add(Review review) {
+        Rank rank = new Rank(review.getReviewId(), review.getUseful());
+
+        reviewsById.put(review.getReviewId(), review);
+        ranking.add(rank);
+        rankingByFilm.computeIfAbsent(review.getFilmId(), filmId -> new TreeSet<>()).add(rank);
+    }
+
+    private Review remove(Long reviewId) {
+        Review review = reviewsById.remove(reviewId);
+
+        if (review == null) {
+            return null;
+        }
+
+        Rank rank = new Rank(review.getReviewId(), review.getUseful());
+        ranking.remove(rank);
+
+        TreeSet<Rank> filmRanking = rankingByFilm.get(review.getFilmId());
+        if (filmRanking != null) {
+            filmRanking.remove(rank);
+            if (filmRanking.isEmpty()) {
+                rankingByFilm.remove(review.getFilmId());
+            }
+        }
+
+        return review;
+    }
+
+    private record Rank(long reviewId, int useful) implements Comparable<Rank> {
+        @Override
+        public int compareTo(@NotNull Rank other) {
+            int byUseful = Integer.compare(other.useful, useful);
+            return byUseful != 0 ? byUseful : Long.compare(reviewId, other.reviewId);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ru.yandex.practicum.filmorate.dal.index;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.dal.db.like.LikeDbRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SetIntersectionIndex {
+    private final LikeDbRepository likeRepository;
+
+    private final Map<Integer, RoaringBitmap> likedFilmsByUser = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            likedFilmsByUser.clear();
+
+            likeRepository.findAllLikes((filmId, userId) -> addLike(filmId, userId));
+            log.info("Индекс пересечений загружен, пользователей с лайками: {}", likedFilmsByUser.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void changeLike(Long filmId, Long userId, boolean liked) {
+        lock.writeLock().lock();
+        try {
+            if (liked) {
+                addLike(filmId, userId);
+            } else {
+                removeLike(filmId, userId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeFilm(Long filmId) {
+        int film = toInt(filmId);
+
+        lock.writeLock().lock();
+        try {
+            likedFilmsByUser.values().forEach(films -> films.remove(film));
+            likedFilmsByUser.values().removeIf(RoaringBitmap::isEmpty);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeUser(Long userId) {
+        lock.writeLock().lock();
+        try {
+            likedFilmsByUser.remove(toInt(userId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> findCommonFilms(Long userId, Long otherUserId) {
+        RoaringBitmap common;
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap first = likedFilmsByUser.get(toInt(userId));
+            RoaringBitmap second = likedFilmsByUser.get(toInt(otherUserId));
+            if (first == null || second == null) {
+                return List.of();
+            }
+            common = RoaringBitmap.and(first, second);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> filmIds = new ArrayList<>(common.getCardinality());
+        common.forEach((int filmId) -> filmIds.add((long) filmId));
+        return filmIds;
+    }
+
+    private void addLike(Long filmId, Long userId) {
+        likedFilmsByUser.computeIfAbsent(toInt(userId), user -> new RoaringBitmap()).add(toInt(filmId));
+    }
+
+    private void removeLike(Long filmId, Long userId) {
+        RoaringBitmap films = likedFilmsByUser.get(toInt(userId));
+
+        if (films != null) {
+            films.remove(toInt(filmId));
+            if (films.isEmpty()) {
+                likedFilmsByUser.remove(toInt(userId));
+            }
+        }
+    }
+
+    private static int toInt(Long id) {
+        return Math.toIntExact(id);
+    }
+}
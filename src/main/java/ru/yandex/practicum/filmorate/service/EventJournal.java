@@ -0,0 +1,186 @@
+package ru.yandex.practicum.filmorate.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.dal.db.event.EventDbRepository;
+import ru.yandex.practicum.filmorate.dto.event.NewEventRequest;
+import ru.yandex.practicum.filmorate.model.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class EventJournal {
+    private final EventDbRepository eventRepository;
+    private final boolean enabled;
+    private final long flushIntervalMs;
+    private final int batchSize;
+
+    private final MpscRingBuffer<NewEventRequest> ring;
+    private final boolean virtualThreads;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<Long, Integer> pendingByUser = new ConcurrentHashMap<>();
+    private long lastWrittenTimestamp;
+    private ScheduledExecutorService writer;
+
+    public EventJournal(EventDbRepository eventRepository,
+                        @Value("${filmorate.events.journal.enabled:true}") boolean enabled,
+                        @Value("${filmorate.events.journal.flush-interval-ms:50}") long flushIntervalMs,
+                        @Value("${filmorate.events.journal.batch-size:500}") int batchSize,
+                        @Value("${filmorate.events.journal.capacity:8192}") int capacity,
+                        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.eventRepository = eventRepository;
+        this.enabled = enabled;
+        this.flushIntervalMs = flushIntervalMs;
+        this.batchSize = batchSize;
+        this.ring = new MpscRingBuffer<>(capacity);
+        this.virtualThreads = virtualThreads;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        writer = Executors.newSingleThreadScheduledExecutor(virtualThreads
+                ? Thread.ofVirtual().name("event-journal").factory()
+                : Thread.ofPlatform().name("event-journal").daemon(true).factory());
+        writer.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Асинхронный журнал событий включен: интервал {} мс, пакет {}, емкость {}, виртуальный поток: {}",
+                flushIntervalMs, batchSize, ring.capacity(), virtualThreads);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+
+        writer.shutdown();
+        writer.awaitTermination(flushIntervalMs * 10, TimeUnit.MILLISECONDS);
+        flush();
+        log.info("Журнал событий сброшен при остановке");
+    }
+
+    public void append(NewEventRequest event) {
+        stamp(event);
+
+        if (!enabled) {
+            eventRepository.save(event);
+            return;
+        }
+
+        pendingByUser.merge(event.getUserId(), 1, Integer::sum);
+        while (!ring.offer(event)) {
+            flush();
+        }
+
+        if (ring.size() >= batchSize) {
+            scheduleFlush();
+        }
+    }
+
+    public Event appendAndWait(NewEventRequest event) {
+        if (!enabled) {
+            stamp(event);
+            return eventRepository.save(event);
+        }
+
+        flushLock.lock();
+        try {
+            flush();
+            stamp(event);
+            keepOrder(event);
+            return eventRepository.save(event);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public void flushUser(Long userId) {
+        if (enabled && pendingByUser.containsKey(userId)) {
+            flush();
+        }
+    }
+
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            List<NewEventRequest> batch = new ArrayList<>(batchSize);
+
+            while (ring.drainTo(batch, batchSize) > 0) {
+                batch.forEach(this::keepOrder);
+                saveBatch(batch);
+                batch.forEach(event -> pendingByUser.computeIfPresent(event.getUserId(),
+                        (userId, count) -> count > 1 ? count - 1 : null));
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void stamp(NewEventRequest event) {
+        event.setTimestamp(clock.accumulateAndGet(System.currentTimeMillis(), Math::max));
+    }
+
+    private void keepOrder(NewEventRequest event) {
+        if (event.getTimestamp() < lastWrittenTimestamp) {
+            event.setTimestamp(lastWrittenTimestamp);
+        }
+        lastWrittenTimestamp = event.getTimestamp();
+    }
+
+    private void scheduleFlush() {
+        try {
+            writer.execute(this::flushSafely);
+        } catch (RejectedExecutionException exception) {
+            log.info("Поток журнала событий остановлен, пакет записывается синхронно");
+            flush();
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException exception) {
+            log.error("Ошибка записи журнала событий: {}", exception.getMessage());
+        }
+    }
+
+    private void saveBatch(List<NewEventRequest> batch) {
+        try {
+            eventRepository.saveAll(batch);
+            return;
+        } catch (DataAccessException exception) {
+            log.warn("Пакет событий не сохранен, повтор по одному событию. Error: {}", exception.getMessage());
+        }
+
+        for (NewEventRequest event : batch) {
+            try {
+                eventRepository.save(event);
+            } catch (DataAccessException exception) {
+                log.warn("Событие {} отклонено БД. Error: {}", event, exception.getMessage());
+            }
+        }
+    }
+}
@@ -3,25 +3,31 @@ package ru.yandex.practicum.filmorate.service;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import ru.yandex.practicum.filmorate.dal.db.event.EventDbRepository;
 import ru.yandex.practicum.filmorate.dto.event.NewEventRequest;
 import ru.yandex.practicum.filmorate.enums.EventType;
 import ru.yandex.practicum.filmorate.enums.Operation;
+import ru.yandex.practicum.filmorate.model.Event;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 public class EventService {
-    private final EventDbRepository eventRepository;
+    private final EventJournal eventJournal;
 
     public void postEvent(Long userId, Long entityId,EventType eventType, Operation operation) {
-        NewEventRequest newEvent = NewEventRequest.builder()
+        eventJournal.append(buildEvent(userId, entityId, eventType, operation));
+    }
+
+    public Event postEventAndWait(Long userId, Long entityId, EventType eventType, Operation operation) {
+        return eventJournal.appendAndWait(buildEvent(userId, entityId, eventType, operation));
+    }
+
+    private NewEventRequest buildEvent(Long userId, Long entityId, EventType eventType, Operation operation) {
+        return NewEventRequest.builder()
                 .userId(userId)
                 .entityId(entityId)
                 .eventType(eventType)
                 .operation(operation)
                 .build();
-
-        eventRepository.save(newEvent);
     }
 }
@@ -7,14 +7,27 @@ import ru.yandex.practicum.filmorate.dal.db.event.EventDbRepository;
 import ru.yandex.practicum.filmorate.model.Event;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 public class FeedService {
     private final EventDbRepository eventRepository;
+    private final EventJournal eventJournal;
 
     public List<Event> getUserFeed(Long userId) {
+        eventJournal.flushUser(userId);
         return eventRepository.findUserEvents(userId);
     }
+
+    public List<Event> getUserFeed(Long userId, long afterEventId, int limit) {
+        eventJournal.flushUser(userId);
+        return eventRepository.findUserEventsPage(userId, afterEventId, limit);
+    }
+
+    public Stream<Event> streamUserFeed(Long userId, long afterEventId, int limit) {
+        eventJournal.flushUser(userId);
+        return eventRepository.streamUserEvents(userId, afterEventId, limit);
+    }
 }
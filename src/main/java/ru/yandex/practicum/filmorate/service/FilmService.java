@@ -1,5 +1,6 @@
 package ru.yandex.practicum.filmorate.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
@@ -8,6 +9,10 @@ import ru.yandex.practicum.filmorate.dal.db.director.DirectorDbRepository;
 import ru.yandex.practicum.filmorate.dal.db.film.FilmDbRepository;
 import ru.yandex.practicum.filmorate.dal.db.film.FilmDbSearcher;
 import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
+import ru.yandex.practicum.filmorate.dal.index.FilmLikesLeaderboard;
+import ru.yandex.practicum.filmorate.dal.index.FilmSearchIndex;
+import ru.yandex.practicum.filmorate.dal.index.RecommendationEngine;
+import ru.yandex.practicum.filmorate.dal.index.SetIntersectionIndex;
 import ru.yandex.practicum.filmorate.dto.film.FilmDto;
 import ru.yandex.practicum.filmorate.dto.film.NewFilmRequest;
 import ru.yandex.practicum.filmorate.dto.film.UpdateFilmRequest;
@@ -20,12 +25,17 @@ import ru.yandex.practicum.filmorate.model.Film;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static ru.yandex.practicum.filmorate.mappers.FilmMapper.*;
 import static ru.yandex.practicum.filmorate.validation.FilmValidator.filmValid;
+import static ru.yandex.practicum.filmorate.validation.PageValidator.afterIdValid;
+import static ru.yandex.practicum.filmorate.validation.PageValidator.pageLimitValid;
+import static ru.yandex.practicum.filmorate.validation.PageValidator.streamLimitValid;
 
 @Slf4j
 @Service
+@Timed("filmorate.service")
 @AllArgsConstructor
 public class FilmService {
     private final FilmDbRepository filmRepository;
@@ -33,6 +43,10 @@ public class FilmService {
     private final DirectorDbRepository directorRepository;
     private final LikeService likeService;
     private final FilmDbSearcher filmSearch;
+    private final FilmLikesLeaderboard leaderboard;
+    private final FilmSearchIndex searchIndex;
+    private final RecommendationEngine recommendationEngine;
+    private final SetIntersectionIndex intersectionIndex;
     private final FilmMapper filmMapper;
 
     public FilmDto postFilm(NewFilmRequest request) {
@@ -40,6 +54,7 @@ public class FilmService {
         Film film = filmMapper.mapToFilm(request);
         Film validFilm = filmValid(film);
         Film savedFilm = filmRepository.save(validFilm);
+        leaderboard.addFilm(savedFilm.getId());
         return filmMapper.mapToFilmDto(savedFilm);
     }
 
@@ -48,7 +63,7 @@ public class FilmService {
         Film film = checkFilmExists(request.getId());
         Film updatedFilmLine = updateFilmFields(film, request);
         Film validFilm = filmValid(updatedFilmLine);
-        Film updatedFilm = filmRepository.update(validFilm);
+        Film updatedFilm = filmRepository.update(validFilm, film);
         return filmMapper.mapToFilmDto(updatedFilm);
     }
 
@@ -59,6 +74,23 @@ public class FilmService {
                 .toList();
     }
 
+    public List<FilmDto> getFilms(Long afterId, Integer limit) {
+        if (afterId == null && limit == null) {
+            return getFilms();
+        }
+
+        log.info("Получен запрос на получение страницы фильмов после id={}, limit={}", afterId, limit);
+        return filmRepository.findPage(afterIdValid(afterId), pageLimitValid(limit)).stream()
+                .map(filmMapper::mapToFilmDto)
+                .toList();
+    }
+
+    public Stream<FilmDto> streamFilms(Long afterId, Integer limit) {
+        log.info("Получен запрос на потоковую выдачу фильмов после id={}, limit={}", afterId, limit);
+        return filmRepository.streamAll(afterIdValid(afterId), streamLimitValid(limit))
+                .map(filmMapper::mapToFilmDto);
+    }
+
     public FilmDto getFilm(Long filmId) {
         log.info("Получен запрос на получение фильма");
         Film film = checkFilmExists(filmId);
@@ -67,19 +99,23 @@ public class FilmService {
 
     public void deleteFilm(Long filmId) {
         log.info("Получен запрос на удаление фильма  id={}", filmId);
-        filmRepository.delete(filmId);
+        if (filmRepository.delete(filmId)) {
+            leaderboard.removeFilm(filmId);
+            recommendationEngine.removeFilm(filmId);
+            intersectionIndex.removeFilm(filmId);
+        }
     }
 
     public void putLike(Long filmId, Long userId) {
         log.info("Получен запрос на добавление лайка к фильму id={}, от пользователя id={}", filmId, userId);
-        checkFilmExists(filmId);
+        checkFilmIdExists(filmId);
         checkUserExists(userId);
         likeService.postLike(filmId, userId);
     }
 
     public void deleteLike(Long filmId, Long userId) {
         log.info("Получен запрос на удаление лайка к фильму id={}, от пользователя id={}", filmId, userId);
-        checkFilmExists(filmId);
+        checkFilmIdExists(filmId);
         checkUserExists(userId);
         likeService.deleteLike(filmId, userId);
     }
@@ -92,6 +128,10 @@ public class FilmService {
             throw new InternalServerException("Некорректный параметр сортировки.");
         }
 
+        if (sortBy.equals("likes")) {
+            likeService.flushLikes();
+        }
+
         return filmSearch.getSortedFilms(directorId, sortBy).stream()
                 .map(filmMapper::mapToFilmDto)
                 .toList();
@@ -102,7 +142,8 @@ public class FilmService {
         checkUserExists(userId);
         checkUserExists(friendId);
 
-        List<Film> films = filmSearch.findCommonFilms(userId, friendId);
+        List<Long> filmIds = likeService.getCommonFilms(userId, friendId);
+        List<Film> films = filmSearch.findFilmsWithRelationsByIdsPreservingOrder(filmIds);
 
         return films.stream()
                 .map(filmMapper::mapToFilmDto)
@@ -132,84 +173,50 @@ public class FilmService {
             throw new ValidationException("Параметр by должен содержать 'title', 'director' или оба значения через запятую");
         }
 
-        List<Film> films = filmSearch.searchFilms(query, byTitle, byDirector);
-
-        return films.stream()
-                .map(filmMapper::mapToFilmDto)
-                .toList();
-    }
-
-    public List<FilmDto> getFilmsPopular(int count) {
-        log.info("Получен запрос на получение списка из count={} популярных фильмов", count);
-        List<Long> popularFilmsIds = likeService.getFilmsPopular();
-        List<Long> limitedIds = popularFilmsIds.stream()
-                .limit(count)
-                .toList();
-        List<Film> films = filmSearch.findFilmsWithRelationsByIdsPreservingOrder(limitedIds);
+        List<Long> filmIds = leaderboard.rank(searchIndex.search(query, byTitle, byDirector));
+        List<Film> films = filmSearch.findFilmsWithRelationsByIdsPreservingOrder(filmIds);
 
         return films.stream()
                 .map(filmMapper::mapToFilmDto)
                 .toList();
     }
 
-    public List<FilmDto> getFilmsPopularByGenreId(int count, long genreId) {
-        log.info("Получен запрос на получение списка из count={} популярных фильмов по жанру {}", count, genreId);
-        List<Long> popularFilmsIds = likeService.getFilmsPopular();
-        List<Long> filmsByGenre = filmSearch.findAllFilmsByGenreId(genreId);
-        List<Long> filteredIds = popularFilmsIds.stream()
-                .filter(filmsByGenre::contains)
-                .limit(count)
-                .toList();
-        List<Film> films = filmSearch.findFilmsWithRelationsByIdsPreservingOrder(filteredIds);
+    public List<FilmDto> getFilmsPopular(int count, Long genreId, Integer year) {
+        log.info("Получен запрос на получение списка из count={} популярных фильмов genreId={} за {} год",
+                count, genreId, year);
+        List<Long> popularFilmsIds;
 
-        return films.stream()
-                .map(filmMapper::mapToFilmDto)
-                .toList();
-    }
+        if (genreId == null && year == null) {
+            popularFilmsIds = likeService.getFilmsPopular(count);
+        } else {
+            likeService.flushLikes();
+            popularFilmsIds = filmSearch.findPopularFilmIds(count, genreId, year);
+        }
 
-    public List<FilmDto> getFilmsPopularByYear(int count, long year) {
-        log.info("Получен запрос на получения списка из count={} популярных фильмов за {} год", count, year);
-        List<Long> popularFilms = likeService.getFilmsPopular();
-        List<Long> filmsByYear = filmSearch.findFilmsByYear(year);
-        List<Long> filteredIds = popularFilms.stream()
-                .filter(filmsByYear::contains)
-                .limit(count)
-                .toList();
+        List<Film> films = filmSearch.findFilmsWithRelationsByIdsPreservingOrder(popularFilmsIds);
 
-        List<Film> films = filmSearch.findFilmsWithRelationsByIdsPreservingOrder(filteredIds);
         return films.stream()
                 .map(filmMapper::mapToFilmDto)
                 .toList();
     }
 
-    public List<FilmDto> getFilmsPopularByGenreIdAndYear(int count, long genreId, long year) {
-        log.info("Получен запрос на получение списка из count={} популярных фильмов genreId={} за {} год",
-                count, genreId, year);
-        List<Long> popularFilms = likeService.getFilmsPopular();
-        List<Long> filmsByYear = filmSearch.findFilmsByYear(year);
-        List<Long> filmsByGenre = filmSearch.findAllFilmsByGenreId(genreId);
-        List<Long> filteredIds = popularFilms.stream()
-                .filter(filmsByYear::contains)
-                .filter(filmsByGenre::contains)
-                .limit(count)
-                .toList();
-        List<Film> films = filmSearch.findFilmsWithRelationsByIdsPreservingOrder(filteredIds);
-
-        return films.stream()
+    public List<FilmDto> getRecommendations(Long userId, int limit) {
+        List<Long> filmIds = likeService.getRecommendations(userId, limit);
+        return filmSearch.findFilmsWithRelationsByIdsPreservingOrder(filmIds).stream()
                 .map(filmMapper::mapToFilmDto)
                 .toList();
-
     }
 
-    public List<FilmDto> getRecommendations(Long userId) {
-        return filmSearch.findRecommendationsFilms(userId).stream()
-                .map(filmMapper::mapToFilmDto)
-                .toList();
+    private void checkUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("Пользователь с id=" + userId + " не найден");
+        }
     }
 
-    private void checkUserExists(Long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id=" + userId + " не найден"));
+    private void checkFilmIdExists(Long filmId) {
+        if (!filmRepository.existsById(filmId)) {
+            throw new NotFoundException("Фильм с id=" + filmId + " не найден");
+        }
     }
 
     private Film checkFilmExists(Long filmId) {
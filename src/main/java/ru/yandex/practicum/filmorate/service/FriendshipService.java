@@ -4,29 +4,48 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import ru.yandex.practicum.filmorate.dal.db.friendship.FriendshipDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
+import ru.yandex.practicum.filmorate.dal.index.FriendshipGraph;
 import ru.yandex.practicum.filmorate.dto.user.UserDto;
 import ru.yandex.practicum.filmorate.enums.EventType;
+import ru.yandex.practicum.filmorate.enums.FriendshipStatus;
 import ru.yandex.practicum.filmorate.enums.Operation;
 import ru.yandex.practicum.filmorate.exception.InternalServerException;
 import ru.yandex.practicum.filmorate.mappers.UserMapper;
 
 import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 public class FriendshipService {
+    private static final int PAIR_LOCK_STRIPES = 64;
+
     private final FriendshipDbRepository friendshipRepository;
+    private final UserDbRepository userRepository;
+    private final FriendshipGraph friendshipGraph;
     private final EventService eventService;
     private final UserMapper userMapper;
+    private final Lock[] pairLocks = createPairLocks();
 
     public void postFriendship(Long userId, Long friendId) {
-        boolean status = friendshipRepository.save(userId, friendId);
+        Lock pairLock = pairLock(userId, friendId);
+        pairLock.lock();
+        try {
+            FriendshipStatus currentStatus = friendshipGraph.findStatus(userId, friendId).orElse(null);
+            boolean status = friendshipRepository.save(userId, friendId, currentStatus);
+
+            if (!status) {
+                log.error("Ошибка сервера при обработки запроса добавления в дружбу пользователей userId= {}," +
+                        " friendId= {}", userId, friendId);
+                throw new InternalServerException("Ошибка сервера при добавлении в друзья");
+            }
 
-        if (!status) {
-            log.error("Ошибка сервера при обработки запроса добавления в дружбу пользователей userId= {}," +
-                    " friendId= {}", userId, friendId);
-            throw new InternalServerException("Ошибка сервера при добавлении в друзья");
+            friendshipGraph.addFriend(userId, friendId);
+        } finally {
+            pairLock.unlock();
         }
 
         log.info("Пользователь id= {} добавил друга id= {} статус дружбы=CONFIRMED. " +
@@ -36,19 +55,41 @@ public class FriendshipService {
     }
 
     public void deleteFriendship(Long userId, Long friendId) {
-        friendshipRepository.delete(userId, friendId);
+        Lock pairLock = pairLock(userId, friendId);
+        pairLock.lock();
+        try {
+            friendshipRepository.delete(userId, friendId);
+            friendshipGraph.removeFriend(userId, friendId);
+        } finally {
+            pairLock.unlock();
+        }
         eventService.postEvent(userId, friendId,EventType.FRIEND, Operation.REMOVE);
     }
 
     public List<UserDto> getFriends(Long userId) {
-        return friendshipRepository.findAllFriends(userId).stream()
+        return userRepository.findByIds(friendshipGraph.findFriends(userId)).stream()
                 .map(userMapper::mapToUserDto)
                 .toList();
     }
 
     public List<UserDto> getCommonFriends(Long userId, Long friendId) {
-        return friendshipRepository.findCommonFriends(userId, friendId).stream()
+        List<Long> commonFriendIds = friendshipGraph.findCommonFriends(userId, friendId);
+        return userRepository.findByIds(commonFriendIds).stream()
                 .map(userMapper::mapToUserDto)
                 .toList();
     }
+
+    private Lock pairLock(Long userId, Long friendId) {
+        long low = Math.min(userId, friendId);
+        long high = Math.max(userId, friendId);
+        return pairLocks[Long.hashCode(low * 31 + high) & (PAIR_LOCK_STRIPES - 1)];
+    }
+
+    private static Lock[] createPairLocks() {
+        Lock[] locks = new Lock[PAIR_LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
 }
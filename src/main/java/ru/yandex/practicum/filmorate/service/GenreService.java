@@ -3,7 +3,7 @@ package ru.yandex.practicum.filmorate.service;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import ru.yandex.practicum.filmorate.dal.db.genre.GenreDbRepository;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
 import ru.yandex.practicum.filmorate.dto.genre.GenreDto;
 import ru.yandex.practicum.filmorate.exception.NotFoundException;
 import ru.yandex.practicum.filmorate.mappers.GenreMapper;
@@ -17,12 +17,12 @@ import java.util.List;
 @Service
 @AllArgsConstructor
 public class GenreService {
-    private final GenreDbRepository genreRepository;
+    private final ReferenceDataDictionary dictionary;
     private final GenreMapper genreMapper;
 
     public List<GenreDto> getAllGenre() {
         log.info("Получен запрос на получение списка genre");
-        return genreRepository.findAllGenre().stream()
+        return dictionary.findAllGenres().stream()
                 .map(genreMapper::mapToGenreDto)
                 .sorted(Comparator.comparing(GenreDto::getId))
                 .toList();
@@ -35,7 +35,7 @@ public class GenreService {
     }
 
     private Genre checkGenreExists(Long genreId) {
-        return genreRepository.findGenre(genreId)
+        return dictionary.findGenre(genreId)
                 .orElseThrow(() -> new NotFoundException("Genre с id=" + genreId + " не найден"));
     }
 }
@@ -3,36 +3,128 @@ package ru.yandex.practicum.filmorate.service;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import ru.yandex.practicum.filmorate.dal.db.base.AfterCommit;
 import ru.yandex.practicum.filmorate.dal.db.like.LikeDbRepository;
+import ru.yandex.practicum.filmorate.dal.index.FilmLikesLeaderboard;
+import ru.yandex.practicum.filmorate.dal.index.RecommendationEngine;
+import ru.yandex.practicum.filmorate.dal.index.SetIntersectionIndex;
 import ru.yandex.practicum.filmorate.enums.EventType;
 import ru.yandex.practicum.filmorate.enums.Operation;
 
 import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 public class LikeService {
+    private static final int LIKE_LOCK_STRIPES = 64;
+
     private final LikeDbRepository likeRepository;
+    private final LikeWriteBehindBuffer likeBuffer;
+    private final FilmLikesLeaderboard leaderboard;
+    private final RecommendationEngine recommendationEngine;
+    private final SetIntersectionIndex intersectionIndex;
     private final EventService eventService;
+    private final Lock[] likeLocks = createLikeLocks();
 
     public void postLike(Long filmId, Long userId) {
-        if (likeRepository.findFilmLikes(filmId).contains(userId)) {
+        boolean changed;
+
+        if (likeBuffer.isEnabled()) {
+            changed = likeBuffer.submit(filmId, userId, true);
+        } else {
+            Lock likeLock = likeLock(filmId, userId);
+            likeLock.lock();
+            try {
+                changed = !likeRepository.exists(filmId, userId) && likeRepository.save(filmId, userId);
+
+                if (changed) {
+                    leaderboard.changeLikes(filmId, 1);
+                    recommendationEngine.changeLike(filmId, userId, true);
+                    intersectionIndex.changeLike(filmId, userId, true);
+                }
+            } finally {
+                likeLock.unlock();
+            }
+        }
+
+        if (!changed) {
             log.info("Повторное добавление лайка фильму id= {}, от пользователя id= {}", filmId, userId);
-            eventService.postEvent(userId, filmId, EventType.LIKE, Operation.ADD);
-            return;
         }
 
-        likeRepository.save(filmId, userId);
         eventService.postEvent(userId, filmId, EventType.LIKE, Operation.ADD);
     }
 
     public void deleteLike(Long filmId, Long userId) {
-        likeRepository.delete(filmId, userId);
+        if (likeBuffer.isEnabled()) {
+            likeBuffer.submit(filmId, userId, false);
+        } else {
+            Lock likeLock = likeLock(filmId, userId);
+            likeLock.lock();
+            try {
+                if (likeRepository.delete(filmId, userId)) {
+                    leaderboard.changeLikes(filmId, -1);
+                    recommendationEngine.changeLike(filmId, userId, false);
+                    intersectionIndex.changeLike(filmId, userId, false);
+                }
+            } finally {
+                likeLock.unlock();
+            }
+        }
+
         eventService.postEvent(userId, filmId, EventType.LIKE, Operation.REMOVE);
     }
 
-    public List<Long> getFilmsPopular() {
-        return likeRepository.findPopularFilms();
+    public void flushUserLikes(Long userId) {
+        likeBuffer.flushUser(userId);
+    }
+
+    public void flushLikes() {
+        if (likeBuffer.isEnabled()) {
+            likeBuffer.flush();
+        }
+    }
+
+    public void prepareUserDeletion(Long userId) {
+        List<Long> likedFilmIds = likeRepository.findUserLikes(userId);
+
+        if (!likedFilmIds.isEmpty()) {
+            likeRepository.decrementUserLikesCount(userId);
+        }
+
+        AfterCommit.run(() -> {
+            likedFilmIds.forEach(filmId -> leaderboard.changeLikes(filmId, -1));
+            intersectionIndex.removeUser(userId);
+            recommendationEngine.removeUser(userId);
+        });
+    }
+
+    public List<Long> getFilmsPopular(int count) {
+        return leaderboard.findTop(count);
+    }
+
+    public List<Long> getCommonFilms(Long userId, Long otherUserId) {
+        likeBuffer.flushUser(userId);
+        likeBuffer.flushUser(otherUserId);
+        return leaderboard.rank(intersectionIndex.findCommonFilms(userId, otherUserId));
+    }
+
+    public List<Long> getRecommendations(Long userId, int limit) {
+        likeBuffer.flushUser(userId);
+        return recommendationEngine.recommend(userId, limit);
+    }
+
+    private Lock likeLock(Long filmId, Long userId) {
+        return likeLocks[Long.hashCode(filmId * 31 + userId) & (LIKE_LOCK_STRIPES - 1)];
+    }
+
+    private static Lock[] createLikeLocks() {
+        Lock[] locks = new Lock[LIKE_LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
     }
 }
@@ -0,0 +1,280 @@
+package ru.yandex.practicum.filmorate.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.dal.db.like.LikeChange;
+import ru.yandex.practicum.filmorate.dal.db.like.LikeDbRepository;
+import ru.yandex.practicum.filmorate.dal.index.FilmLikesLeaderboard;
+import ru.yandex.practicum.filmorate.dal.index.RecommendationEngine;
+import ru.yandex.practicum.filmorate.dal.index.SetIntersectionIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class LikeWriteBehindBuffer {
+    private final LikeDbRepository likeRepository;
+    private final FilmLikesLeaderboard leaderboard;
+    private final RecommendationEngine recommendationEngine;
+    private final SetIntersectionIndex intersectionIndex;
+    private final boolean enabled;
+    private final long flushIntervalMs;
+    private final int batchSize;
+    private final int capacity;
+
+    private final Map<LikeKey, PendingLike> pending = new LinkedHashMap<>();
+    private final Map<LikeKey, PendingLike> inFlight = new HashMap<>();
+    private final Map<Long, Integer> pendingByUser = new HashMap<>();
+    private final boolean virtualThreads;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private long flushGeneration;
+    private ScheduledExecutorService flusher;
+
+    public LikeWriteBehindBuffer(LikeDbRepository likeRepository,
+                                 FilmLikesLeaderboard leaderboard,
+                                 RecommendationEngine recommendationEngine,
+                                 SetIntersectionIndex intersectionIndex,
+                                 @Value("${filmorate.likes.write-behind.enabled:false}") boolean enabled,
+                                 @Value("${filmorate.likes.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+                                 @Value("${filmorate.likes.write-behind.batch-size:500}") int batchSize,
+                                 @Value("${filmorate.likes.write-behind.capacity:10000}") int capacity,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.likeRepository = likeRepository;
+        this.leaderboard = leaderboard;
+        this.recommendationEngine = recommendationEngine;
+        this.intersectionIndex = intersectionIndex;
+        this.enabled = enabled;
+        this.flushIntervalMs = flushIntervalMs;
+        this.batchSize = batchSize;
+        this.capacity = capacity;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(virtualThreads
+                ? Thread.ofVirtual().name("like-write-behind").factory()
+                : Thread.ofPlatform().name("like-write-behind").daemon(true).factory());
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Отложенная запись лайков включена: интервал {} мс, пакет {}, емкость {}, виртуальный поток: {}",
+                flushIntervalMs, batchSize, capacity, virtualThreads);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+
+        flusher.shutdown();
+        flusher.awaitTermination(flushIntervalMs * 10, TimeUnit.MILLISECONDS);
+        flush();
+        log.info("Очередь отложенной записи лайков сброшена при остановке");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean submit(Long filmId, Long userId, boolean liked) {
+        LikeKey key = new LikeKey(filmId, userId);
+        int size;
+
+        while (true) {
+            long generation;
+            Boolean bufferedState;
+
+            synchronized (this) {
+                generation = flushGeneration;
+                bufferedState = findBufferedState(key);
+            }
+
+            boolean persistedState = bufferedState != null ? bufferedState : likeRepository.exists(filmId, userId);
+
+            synchronized (this) {
+                PendingLike existing = pending.get(key);
+                PendingLike flushing = inFlight.get(key);
+
+                if (existing == null && flushing == null
+                        && (bufferedState != null || generation != flushGeneration)) {
+                    continue;
+                }
+
+                boolean currentState = existing != null ? existing.liked()
+                        : flushing != null ? flushing.liked() : persistedState;
+
+                if (currentState == liked) {
+                    return false;
+                }
+
+                boolean initialState = existing != null ? existing.initiallyLiked() : currentState;
+
+                if (initialState == liked) {
+                    pending.remove(key);
+                    releaseUser(userId);
+                } else {
+                    pending.put(key, new PendingLike(liked, initialState));
+
+                    if (existing == null) {
+                        pendingByUser.merge(userId, 1, Integer::sum);
+                    }
+                }
+
+                leaderboard.changeLikes(filmId, liked ? 1 : -1);
+                recommendationEngine.changeLike(filmId, userId, liked);
+                intersectionIndex.changeLike(filmId, userId, liked);
+                size = pending.size();
+                break;
+            }
+        }
+
+        if (size >= capacity) {
+            flush();
+        } else if (size >= batchSize) {
+            scheduleFlush();
+        }
+
+        return true;
+    }
+
+    public void flushUser(Long userId) {
+        if (!enabled) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            boolean hasPending;
+
+            synchronized (this) {
+                hasPending = pendingByUser.containsKey(userId);
+            }
+
+            if (hasPending) {
+                flush();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+
+                inFlight.putAll(pending);
+                pending.clear();
+                pendingByUser.clear();
+            }
+
+            try {
+                List<LikeChange> changes = inFlight.entrySet().stream()
+                        .map(entry -> new LikeChange(entry.getKey().filmId(), entry.getKey().userId(),
+                                entry.getValue().liked()))
+                        .toList();
+                Set<LikeChange> applied = new HashSet<>(saveChanges(changes));
+
+                synchronized (this) {
+                    changes.stream()
+                            .filter(change -> !applied.contains(change))
+                            .forEach(this::revert);
+                }
+            } finally {
+                synchronized (this) {
+                    inFlight.clear();
+                    flushGeneration++;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void scheduleFlush() {
+        try {
+            flusher.execute(this::flushSafely);
+        } catch (RejectedExecutionException exception) {
+            log.info("Поток отложенной записи лайков остановлен, пакет записывается синхронно");
+            flush();
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException exception) {
+            log.error("Ошибка отложенной записи лайков: {}", exception.getMessage());
+        }
+    }
+
+    private List<LikeChange> saveChanges(List<LikeChange> changes) {
+        try {
+            return likeRepository.saveChanges(changes);
+        } catch (DataAccessException exception) {
+            log.warn("Пакет лайков не сохранен, повтор по одному изменению. Error: {}", exception.getMessage());
+        }
+
+        List<LikeChange> applied = new ArrayList<>();
+
+        for (LikeChange change : changes) {
+            try {
+                applied.addAll(likeRepository.saveChanges(List.of(change)));
+            } catch (DataAccessException exception) {
+                log.warn("Изменение лайка {} отклонено БД. Error: {}", change, exception.getMessage());
+            }
+        }
+
+        return applied;
+    }
+
+    private void revert(LikeChange change) {
+        log.warn("Отложенное изменение лайка не применено: {}", change);
+
+        if (pending.remove(new LikeKey(change.filmId(), change.userId())) != null) {
+            releaseUser(change.userId());
+            return;
+        }
+
+        leaderboard.changeLikesIfPresent(change.filmId(), change.liked() ? -1 : 1);
+        recommendationEngine.changeLike(change.filmId(), change.userId(), !change.liked());
+        intersectionIndex.changeLike(change.filmId(), change.userId(), !change.liked());
+    }
+
+    private synchronized Boolean findBufferedState(LikeKey key) {
+        PendingLike buffered = pending.containsKey(key) ? pending.get(key) : inFlight.get(key);
+        return buffered != null ? buffered.liked() : null;
+    }
+
+    private void releaseUser(Long userId) {
+        pendingByUser.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private record LikeKey(long filmId, long userId) {
+    }
+
+    private record PendingLike(boolean liked, boolean initiallyLiked) {
+    }
+}
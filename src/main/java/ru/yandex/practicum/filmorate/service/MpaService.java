@@ -3,7 +3,7 @@ package ru.yandex.practicum.filmorate.service;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import ru.yandex.practicum.filmorate.dal.db.mpa.MpaDbRepository;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
 import ru.yandex.practicum.filmorate.dto.mpa.MpaDto;
 import ru.yandex.practicum.filmorate.exception.NotFoundException;
 import ru.yandex.practicum.filmorate.mappers.MpaMapper;
@@ -16,13 +16,13 @@ import java.util.List;
 @Service
 @AllArgsConstructor
 public class MpaService {
-    private final MpaDbRepository mpaRepository;
+    private final ReferenceDataDictionary dictionary;
     private final MpaMapper mpaMapper;
 
 
     public List<MpaDto> getAllMpa() {
         log.info("Получен запрос на получение списка mpa");
-        return mpaRepository.findAllMpa().stream()
+        return dictionary.findAllMpa().stream()
                 .map(mpaMapper::mapToMpaDto)
                 .sorted(Comparator.comparing(MpaDto::getId))
                 .toList();
@@ -35,7 +35,7 @@ public class MpaService {
     }
 
     private Mpa checkMpaExists(Long mapId) {
-        return mpaRepository.findMpa(mapId)
+        return dictionary.findMpa(mapId)
                 .orElseThrow(() -> new NotFoundException("Mpa с id=" + mapId + " не найден"));
     }
 }
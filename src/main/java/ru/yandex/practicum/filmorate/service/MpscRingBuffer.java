@@ -0,0 +1,67 @@
+package ru.yandex.practicum.filmorate.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+final class MpscRingBuffer<E> {
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    MpscRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+
+            if (position - head >= slots.length()) {
+                return false;
+            }
+
+            if (tail.compareAndSet(position, position + 1)) {
+                slots.lazySet(index(position), element);
+                return true;
+            }
+        }
+    }
+
+    int drainTo(List<E> target, int limit) {
+        long position = head;
+        int drained = 0;
+
+        while (drained < limit) {
+            int index = index(position);
+            E element = slots.get(index);
+
+            if (element == null) {
+                break;
+            }
+
+            slots.lazySet(index, null);
+            target.add(element);
+            position++;
+            drained++;
+        }
+
+        head = position;
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    private int index(long position) {
+        return (int) (position & mask);
+    }
+}
@@ -1,11 +1,13 @@
 package ru.yandex.practicum.filmorate.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import ru.yandex.practicum.filmorate.dal.db.film.FilmDbRepository;
 import ru.yandex.practicum.filmorate.dal.db.review.ReviewDbRepository;
 import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
+import ru.yandex.practicum.filmorate.dal.index.ReviewUsefulnessIndex;
 import ru.yandex.practicum.filmorate.dto.review.NewReviewRequest;
 import ru.yandex.practicum.filmorate.dto.review.ReviewDto;
 import ru.yandex.practicum.filmorate.dto.review.UpdateReviewRequest;
@@ -20,11 +22,13 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed("filmorate.service")
 @AllArgsConstructor
 public class ReviewService {
     private final ReviewDbRepository reviewRepository;
     private final UserDbRepository userRepository;
     private final FilmDbRepository filmRepository;
+    private final ReviewUsefulnessIndex usefulnessIndex;
     private final EventService eventService;
     private final ReviewMapper reviewMapper;
 
@@ -35,6 +39,7 @@ public class ReviewService {
 
         Review review = reviewMapper.mapToReview(request);
         Review saved = reviewRepository.save(review);
+        usefulnessIndex.putReview(saved);
         eventService.postEvent(saved.getUserId(), saved.getReviewId(), EventType.REVIEW, Operation.ADD);
 
         return reviewMapper.mapToReviewDto(saved);
@@ -46,6 +51,7 @@ public class ReviewService {
 
         Review updated = ReviewMapper.updateReviewFields(review, request);
         Review updatedFromBd = reviewRepository.update(updated);
+        usefulnessIndex.updateReview(updatedFromBd);
         eventService.postEvent(updatedFromBd.getUserId(), updatedFromBd.getReviewId(), EventType.REVIEW, Operation.UPDATE);
 
         return reviewMapper.mapToReviewDto(updatedFromBd);
@@ -56,6 +62,7 @@ public class ReviewService {
         Review review = checkReviewExists(reviewId);
 
         reviewRepository.delete(reviewId);
+        usefulnessIndex.removeReview(reviewId);
         eventService.postEvent(review.getUserId(), review.getReviewId(), EventType.REVIEW, Operation.REMOVE);
     }
 
@@ -73,9 +80,9 @@ public class ReviewService {
 
         if (filmId != null) {
             checkFilmExists(filmId);
-            reviews = reviewRepository.getByFilmId(filmId, reviewsCount);
+            reviews = usefulnessIndex.findTopByFilm(filmId, reviewsCount);
         } else {
-            reviews = reviewRepository.getAll(reviewsCount);
+            reviews = usefulnessIndex.findTop(reviewsCount);
         }
 
         return reviews.stream()
@@ -87,38 +94,40 @@ public class ReviewService {
         log.info("Получен запрос на добавление лайка отзыву id= {} от пользователя id= {}", reviewId, userId);
         checkReviewExists(reviewId);
         checkUserExists(userId);
-        reviewRepository.addLike(reviewId, userId);
+        usefulnessIndex.changeUseful(reviewId, reviewRepository.addLike(reviewId, userId));
     }
 
     public void putDislike(Long reviewId, Long userId) {
         log.info("Получен запрос на добавление дизлайка отзыву id= {} от пользователя id= {}", reviewId, userId);
         checkReviewExists(reviewId);
         checkUserExists(userId);
-        reviewRepository.addDislike(reviewId, userId);
+        usefulnessIndex.changeUseful(reviewId, reviewRepository.addDislike(reviewId, userId));
     }
 
     public void deleteLike(Long reviewId, Long userId) {
         log.info("Получен запрос на удаление лайка отзыву id= {} от пользователя id= {}", reviewId, userId);
         checkReviewExists(reviewId);
         checkUserExists(userId);
-        reviewRepository.removeLike(reviewId, userId);
+        usefulnessIndex.changeUseful(reviewId, reviewRepository.removeLike(reviewId, userId));
     }
 
     public void deleteDislike(Long reviewId, Long userId) {
         log.info("Получен запрос на удаление дизлайка отзыву id= {} от пользователя id= {}", reviewId, userId);
         checkReviewExists(reviewId);
         checkUserExists(userId);
-        reviewRepository.removeDislike(reviewId, userId);
+        usefulnessIndex.changeUseful(reviewId, reviewRepository.removeDislike(reviewId, userId));
     }
 
     private void checkUserExists(Long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id=" + userId + " не найден"));
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("Пользователь с id=" + userId + " не найден");
+        }
     }
 
     private void checkFilmExists(Long filmId) {
-        filmRepository.findById(filmId)
-                .orElseThrow(() -> new NotFoundException("Фильм с id=" + filmId + " не найден"));
+        if (!filmRepository.existsById(filmId)) {
+            throw new NotFoundException("Фильм с id=" + filmId + " не найден");
+        }
     }
 
     private Review checkReviewExists(Long reviewId) {
@@ -0,0 +1,78 @@
+package ru.yandex.practicum.filmorate.service;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.AbstractPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Role;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+@ConditionalOnProperty(name = "filmorate.metrics.enabled", matchIfMissing = true)
+public class ServiceMetricsAdvisor extends AbstractPointcutAdvisor implements MethodInterceptor {
+    private static final String NO_EXCEPTION = "none";
+
+    private final ObjectProvider<MeterRegistry> registry;
+    private final Pointcut pointcut = AnnotationMatchingPointcut.forClassAnnotation(Timed.class);
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAdvisor(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(@NotNull MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (!Modifier.isPublic(method.getModifiers()) || method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            timers.computeIfAbsent(method, key -> timer(key, NO_EXCEPTION))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            timer(method, e.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    @NotNull
+    @Override
+    public Pointcut getPointcut() {
+        return pointcut;
+    }
+
+    @NotNull
+    @Override
+    public Advice getAdvice() {
+        return this;
+    }
+
+    private Timer timer(Method method, String exception) {
+        Class<?> type = method.getDeclaringClass();
+        return Timer.builder(type.getAnnotation(Timed.class).value())
+                .tag("class", type.getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .register(registry.getObject());
+    }
+}
@@ -1,10 +1,14 @@
 package ru.yandex.practicum.filmorate.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.yandex.practicum.filmorate.dal.db.base.AfterCommit;
 import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
+import ru.yandex.practicum.filmorate.dal.index.FriendshipGraph;
 import ru.yandex.practicum.filmorate.dto.event.EventDto;
 import ru.yandex.practicum.filmorate.dto.film.FilmDto;
 import ru.yandex.practicum.filmorate.dto.user.NewUserRequest;
@@ -16,21 +20,28 @@ import ru.yandex.practicum.filmorate.mappers.UserMapper;
 import ru.yandex.practicum.filmorate.model.User;
 import ru.yandex.practicum.filmorate.validation.UserValidator;
 
-import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static ru.yandex.practicum.filmorate.mappers.UserMapper.*;
+import static ru.yandex.practicum.filmorate.validation.PageValidator.afterIdValid;
+import static ru.yandex.practicum.filmorate.validation.PageValidator.pageLimitValid;
+import static ru.yandex.practicum.filmorate.validation.PageValidator.streamLimitValid;
 
 @Slf4j
 @Service
+@Timed("filmorate.service")
 @AllArgsConstructor
 public class UserService {
     private final UserDbRepository userRepository;
     private final FriendshipService friendshipService;
+    private final LikeService likeService;
     private final FilmService filmService;
     private final FeedService feedService;
+    private final FriendshipGraph friendshipGraph;
     private final EventMapper eventMapper;
     private final UserMapper userMapper;
+    private final TransactionTemplate transactionTemplate;
 
     public UserDto postUser(NewUserRequest request) {
         log.info("Получен запрос на добавление пользователя {}", request);
@@ -63,57 +74,109 @@ public class UserService {
                 .toList();
     }
 
+    public List<UserDto> getUsers(Long afterId, Integer limit) {
+        if (afterId == null && limit == null) {
+            return getUsers();
+        }
+
+        log.info("Получен запрос на получение страницы пользователей после id={}, limit={}", afterId, limit);
+        return userRepository.findPage(afterIdValid(afterId), pageLimitValid(limit)).stream()
+                .map(userMapper::mapToUserDto)
+                .toList();
+    }
+
+    public Stream<UserDto> streamUsers(Long afterId, Integer limit) {
+        log.info("Получен запрос на потоковую выдачу пользователей после id={}, limit={}", afterId, limit);
+        return userRepository.streamAll(afterIdValid(afterId), streamLimitValid(limit))
+                .map(userMapper::mapToUserDto);
+    }
+
     public void putFriend(Long userId, Long friendId) {
         log.info("Получен запрос на добавление в друзья id={} от пользователя id={}", userId, friendId);
-        checkUserExists(userId);
-        checkUserExists(friendId);
+        checkUserIdExists(userId);
+        checkUserIdExists(friendId);
         friendshipService.postFriendship(userId, friendId);
     }
 
     public void deleteFriend(Long userId, Long friendId) {
         log.info("Получен запрос на удаление из друзей id={} от пользователя id={}", userId, friendId);
-        checkUserExists(userId);
-        checkUserExists(friendId);
+        checkUserIdExists(userId);
+        checkUserIdExists(friendId);
         friendshipService.deleteFriendship(userId, friendId);
     }
 
     public void deleteUser(Long userId) {
         log.info("Получен запрос на удаление пользователя  id={}", userId);
-        userRepository.delete(userId);
+        likeService.flushUserLikes(userId);
+        transactionTemplate.executeWithoutResult(status -> {
+            likeService.prepareUserDeletion(userId);
+            userRepository.delete(userId);
+            AfterCommit.run(() -> friendshipGraph.removeUser(userId));
+        });
     }
 
     public List<UserDto> getFriends(Long userId) {
         log.info("Получен запрос на получение списка друзей");
-        checkUserExists(userId);
+        checkUserIdExists(userId);
 
         return friendshipService.getFriends(userId);
     }
 
     public List<UserDto> getCommonFriends(Long userId, Long friendId) {
         log.info("Получен запрос на получение списка общих друзей id={} и id={}", userId, friendId);
-        checkUserExists(userId);
-        checkUserExists(friendId);
+        checkUserIdExists(userId);
+        checkUserIdExists(friendId);
 
         return friendshipService.getCommonFriends(userId, friendId);
     }
 
     public List<EventDto> getUserFeed(Long userId) {
         log.info("Получен запрос на получение ленты событий пользователя id={}", userId);
-        checkUserExists(userId);
+        checkUserIdExists(userId);
 
         return feedService.getUserFeed(userId).stream()
                 .map(eventMapper::mapEventDto)
-                .sorted(Comparator.comparing(EventDto::getTimestamp))
                 .toList();
     }
 
-    public List<FilmDto> getRecommendations(Long userId) {
-        log.info("Получен запрос на получение рекомендованных фильмов от id={} ", userId);
-        return filmService.getRecommendations(userId);
+    public List<EventDto> getUserFeed(Long userId, Long afterEventId, Integer limit) {
+        if (afterEventId == null && limit == null) {
+            return getUserFeed(userId);
+        }
+
+        log.info("Получен запрос на получение страницы ленты событий пользователя id={} после eventId={}, limit={}",
+                userId, afterEventId, limit);
+        checkUserIdExists(userId);
+
+        return feedService.getUserFeed(userId, afterIdValid(afterEventId, "afterEventId"), pageLimitValid(limit)).stream()
+                .map(eventMapper::mapEventDto)
+                .toList();
+    }
+
+    public Stream<EventDto> streamUserFeed(Long userId, Long afterEventId, Integer limit) {
+        log.info("Получен запрос на потоковую выдачу ленты событий пользователя id={} после eventId={}, limit={}",
+                userId, afterEventId, limit);
+        checkUserIdExists(userId);
+
+        return feedService.streamUserFeed(userId, afterIdValid(afterEventId, "afterEventId"), streamLimitValid(limit))
+                .map(eventMapper::mapEventDto);
+    }
+
+    public List<FilmDto> getRecommendations(Long userId, Integer limit) {
+        log.info("Получен запрос на получение {} рекомендованных фильмов от id={} ", limit, userId);
+        checkUserIdExists(userId);
+
+        return filmService.getRecommendations(userId, streamLimitValid(limit));
     }
 
     private User checkUserExists(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id=" + userId + " не найден"));
     }
+
+    private void checkUserIdExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("Пользователь с id=" + userId + " не найден");
+        }
+    }
 }
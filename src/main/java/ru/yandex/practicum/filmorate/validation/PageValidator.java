@@ -0,0 +1,53 @@
+package ru.yandex.practicum.filmorate.validation;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+
+@Slf4j
+public class PageValidator {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public static long afterIdValid(Long afterId) {
+        return afterIdValid(afterId, "afterId");
+    }
+
+    public static long afterIdValid(Long afterId, String name) {
+        if (afterId == null) {
+            return 0;
+        }
+
+        if (afterId < 0) {
+            log.warn("Передан некорректный {}: {}", name, afterId);
+            throw new ValidationException("Параметр " + name + " не может быть отрицательным");
+        }
+
+        return afterId;
+    }
+
+    public static int pageLimitValid(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            log.warn("Передан некорректный limit: {}", limit);
+            throw new ValidationException("Параметр limit должен быть от 1 до " + MAX_PAGE_SIZE);
+        }
+
+        return limit;
+    }
+
+    public static int streamLimitValid(Integer limit) {
+        if (limit == null) {
+            return Integer.MAX_VALUE;
+        }
+
+        if (limit <= 0) {
+            log.warn("Передан некорректный limit: {}", limit);
+            throw new ValidationException("Параметр limit должен быть положительным");
+        }
+
+        return limit;
+    }
+}
@@ -0,0 +1,115 @@
+CREATE TABLE IF NOT EXISTS directors
+(
+    id   INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(55) UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS mpa
+(
+    id   INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(20) UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS genres
+(
+    id   INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(50) UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS films
+(
+    id           INT AUTO_INCREMENT PRIMARY KEY,
+    name         VARCHAR(40)  NOT NULL,
+    description  VARCHAR(200) NOT NULL,
+    release_date DATE         NOT NULL,
+    duration     INT          NOT NULL CHECK (duration > 0),
+    mpa_id       INT,
+    likes_count  INT          NOT NULL DEFAULT 0,
+    FOREIGN KEY (mpa_id) REFERENCES mpa (id)
+);
+
+CREATE TABLE IF NOT EXISTS film_directors
+(
+    film_id     INT,
+    director_id INT REFERENCES directors (id) ON DELETE CASCADE,
+    PRIMARY KEY (film_id, director_id),
+    FOREIGN KEY (film_id) REFERENCES films (id) ON DELETE CASCADE,
+    FOREIGN KEY (director_id) REFERENCES directors (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS users
+(
+    id       INT AUTO_INCREMENT PRIMARY KEY,
+    email    VARCHAR(50) NOT NULL UNIQUE,
+    login    VARCHAR(50) NOT NULL,
+    name     VARCHAR(50),
+    birthday DATE        NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS friendship_status
+(
+    id   INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(20) UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS users_friends
+(
+    user_id              INT,
+    friend_id            INT,
+    friendship_status_id INT,
+    PRIMARY KEY (user_id, friend_id),
+    FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    FOREIGN KEY (friend_id) REFERENCES users (id) ON DELETE CASCADE,
+    FOREIGN KEY (friendship_status_id) REFERENCES friendship_status (id)
+);
+
+CREATE TABLE IF NOT EXISTS film_genres
+(
+    film_id  INT,
+    genre_id INT,
+    PRIMARY KEY (film_id, genre_id),
+    FOREIGN KEY (film_id) REFERENCES films (id) ON DELETE CASCADE,
+    FOREIGN KEY (genre_id) REFERENCES genres (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS films_likes
+(
+    film_id INT,
+    user_id INT,
+    PRIMARY KEY (film_id, user_id),
+    FOREIGN KEY (film_id) REFERENCES films (id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS feed_events
+(
+    event_id   INT AUTO_INCREMENT PRIMARY KEY,
+    user_id    INT,
+    entity_id  INT,
+    event_type VARCHAR(20),
+    operation  VARCHAR(20),
+    timestamp  BIGINT,
+    FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS reviews
+(
+    review_id   BIGINT AUTO_INCREMENT PRIMARY KEY,
+    content     TEXT    NOT NULL,
+    is_positive BOOLEAN NOT NULL,
+    user_id     BIGINT  NOT NULL,
+    film_id     BIGINT  NOT NULL,
+    useful      INT DEFAULT 0,
+    FOREIGN KEY (user_id) REFERENCES users (id),
+    FOREIGN KEY (film_id) REFERENCES films (id)
+);
+
+CREATE TABLE IF NOT EXISTS review_likes
+(
+    review_id BIGINT,
+    user_id   BIGINT,
+    rating    INT CHECK (rating IN (-1, 1)),
+    PRIMARY KEY (review_id, user_id),
+    FOREIGN KEY (review_id) REFERENCES reviews (review_id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,18 @@
+MERGE INTO mpa (id, name) KEY (id)
+VALUES (1, 'G'),
+       (2, 'PG'),
+       (3, 'PG_13'),
+       (4, 'R'),
+       (5, 'NC_17');
+
+MERGE INTO genres (id, name) KEY (id)
+VALUES (1, 'COMEDY'),
+       (2, 'DRAMA'),
+       (3, 'CARTOON'),
+       (4, 'THRILLER'),
+       (5, 'DOCUMENTARY'),
+       (6, 'ACTION');
+
+MERGE INTO friendship_status (name) KEY (name)
+VALUES ('CONFIRMED'),
+       ('NOT_CONFIRMED');
@@ -0,0 +1,5 @@
+CREATE INDEX IF NOT EXISTS films_release_date_idx ON films (release_date);
+CREATE INDEX IF NOT EXISTS film_genres_genre_id_idx ON film_genres (genre_id, film_id);
+CREATE INDEX IF NOT EXISTS feed_events_user_id_idx ON feed_events (user_id, event_id);
+CREATE INDEX IF NOT EXISTS reviews_film_id_useful_idx ON reviews (film_id, useful DESC, review_id);
+CREATE INDEX IF NOT EXISTS reviews_useful_idx ON reviews (useful DESC, review_id);
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS films_likes_user_id_idx ON films_likes (user_id, film_id);
+CREATE INDEX IF NOT EXISTS film_directors_director_id_idx ON film_directors (director_id, film_id);
+CREATE INDEX IF NOT EXISTS users_friends_status_idx ON users_friends (friendship_status_id, user_id, friend_id);
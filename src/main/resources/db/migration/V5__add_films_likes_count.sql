@@ -0,0 +1,6 @@
+ALTER TABLE films ADD COLUMN IF NOT EXISTS likes_count INT NOT NULL DEFAULT 0;
+
+UPDATE films
+SET likes_count = (SELECT COUNT(*) FROM films_likes WHERE films_likes.film_id = films.id);
+
+CREATE INDEX IF NOT EXISTS films_likes_count_idx ON films (likes_count DESC, id);
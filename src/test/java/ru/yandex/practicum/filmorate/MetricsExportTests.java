@@ -0,0 +1,41 @@
+package ru.yandex.practicum.filmorate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.util.Assert;
+import ru.yandex.practicum.filmorate.service.FilmService;
+import ru.yandex.practicum.filmorate.service.UserService;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metrics-export;DB_CLOSE_DELAY=-1")
+@AutoConfigureObservability(tracing = false)
+class MetricsExportTests {
+	@Autowired
+	private FilmService filmService;
+	@Autowired
+	private UserService userService;
+	@Autowired
+	private MeterRegistry meterRegistry;
+	@Autowired
+	private PrometheusMeterRegistry prometheusRegistry;
+
+	@Test
+	void serviceAndRepositoryMetricsExported() {
+		filmService.getFilmsPopular(10, null, null);
+		userService.getUsers();
+
+		Assert.isTrue(meterRegistry.get("filmorate.service").tag("class", "FilmService")
+				.tag("method", "getFilmsPopular").timer().count() == 1, "Метод сервиса фильмов не измерен");
+		Assert.isTrue(meterRegistry.get("filmorate.service").tag("class", "UserService")
+				.tag("method", "getUsers").timer().count() == 1, "Метод сервиса пользователей не измерен");
+
+		String scrape = prometheusRegistry.scrape();
+		Assert.isTrue(scrape.contains("filmorate_repository_query_seconds_bucket"),
+				"Гистограмма запросов репозиториев не экспортируется");
+		Assert.isTrue(scrape.contains("filmorate_service_seconds_count"),
+				"Время методов сервисов не экспортируется");
+	}
+}
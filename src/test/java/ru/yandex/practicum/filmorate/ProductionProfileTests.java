@@ -0,0 +1,41 @@
+package ru.yandex.practicum.filmorate;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@SpringBootTest(properties = "filmorate.datasource.path=./target/h2-production/filmorate")
+@ActiveProfiles("production")
+class ProductionProfileTests {
+	@Autowired
+	private DataSource dataSource;
+	@Autowired
+	private JdbcTemplate jdbc;
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void poolAndH2SettingsApplied() {
+		HikariDataSource hikari = (HikariDataSource) dataSource;
+
+		Assert.isTrue(hikari.getMaximumPoolSize() == 34, "Размер пула не применен");
+		Assert.isTrue(settings("CACHE_SIZE").contains("131072"), "Размер кэша страниц H2 не применен");
+		Assert.isTrue(settings("QUERY_CACHE_SIZE").contains("64"), "Кэш разобранных запросов H2 не применен");
+		Assert.isTrue(settings("WRITE_DELAY").contains("500"), "Задержка записи MVStore не применена");
+		Assert.notNull(meterRegistry.find("hikaricp.connections.acquire").timer(), "Метрики ожидания пула не экспортируются");
+		Assert.notNull(meterRegistry.find("hikaricp.connections.usage").timer(), "Метрики использования пула не экспортируются");
+	}
+
+	private List<String> settings(String name) {
+		return jdbc.queryForList("SELECT SETTING_VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE SETTING_NAME = ?",
+				String.class, name);
+	}
+}
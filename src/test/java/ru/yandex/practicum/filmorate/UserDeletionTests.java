@@ -0,0 +1,108 @@
+package ru.yandex.practicum.filmorate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.Assert;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.like.LikeDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
+import ru.yandex.practicum.filmorate.dal.index.FilmLikesLeaderboard;
+import ru.yandex.practicum.filmorate.dal.index.SetIntersectionIndex;
+import ru.yandex.practicum.filmorate.dbTests.DataTest;
+import ru.yandex.practicum.filmorate.dto.review.NewReviewRequest;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.FilmService;
+import ru.yandex.practicum.filmorate.service.ReviewService;
+import ru.yandex.practicum.filmorate.service.UserService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:user-deletion;DB_CLOSE_DELAY=-1")
+class UserDeletionTests {
+	@Autowired
+	private UserService userService;
+	@Autowired
+	private FilmService filmService;
+	@Autowired
+	private ReviewService reviewService;
+	@Autowired
+	private UserDbRepository userRepository;
+	@Autowired
+	private FilmDbRepository filmRepository;
+	@Autowired
+	private LikeDbRepository likeRepository;
+	@Autowired
+	private FilmLikesLeaderboard leaderboard;
+	@Autowired
+	private SetIntersectionIndex intersectionIndex;
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	private Long filmId;
+	private Long userId;
+	private Long otherUserId;
+
+	@BeforeEach
+	void setUp() {
+		filmId = filmRepository.save(DataTest.TEST_FILM).getId();
+		leaderboard.addFilm(filmId);
+		userId = userRepository.save(user()).getId();
+		otherUserId = userRepository.save(user()).getId();
+		filmService.putLike(filmId, userId);
+		filmService.putLike(filmId, otherUserId);
+	}
+
+	@Test
+	void userWithoutReviewsIsDeletedWithLikes() {
+		userService.deleteUser(userId);
+
+		Assert.isTrue(!userRepository.existsById(userId), "Пользователь не удален");
+		Assert.isTrue(!likeRepository.exists(filmId, userId), "Лайк удаленного пользователя остался в БД");
+		Assert.isTrue(likesCount() == 1, "Счетчик лайков не уменьшен");
+		Assert.isTrue(leaderboard.getLikes(filmId) == 1, "Рейтинг не учитывает удаление пользователя");
+		Assert.isTrue(intersectionIndex.findCommonFilms(otherUserId, userId).isEmpty(),
+				"Лайки удаленного пользователя остались в индексе пересечений");
+	}
+
+	@Test
+	void failedDeletionOfUserWithReviewsKeepsLikes() {
+		NewReviewRequest review = new NewReviewRequest();
+		review.setContent("Отзыв");
+		review.setIsPositive(true);
+		review.setUserId(userId);
+		review.setFilmId(filmId);
+		reviewService.postReview(review);
+
+		assertThrows(DataIntegrityViolationException.class, () -> userService.deleteUser(userId),
+				"Пользователь с отзывами удален");
+
+		Assert.isTrue(userRepository.existsById(userId), "Пользователь удален несмотря на ошибку");
+		Assert.isTrue(likeRepository.exists(filmId, userId), "Лайк удален несмотря на ошибку");
+		Assert.isTrue(likesCount() == 2, "Счетчик лайков изменен несмотря на ошибку");
+		Assert.isTrue(leaderboard.getLikes(filmId) == 2, "Рейтинг изменен несмотря на ошибку");
+		Assert.isTrue(intersectionIndex.findCommonFilms(otherUserId, userId).equals(List.of(filmId)),
+				"Индекс пересечений изменен несмотря на ошибку");
+	}
+
+	private int likesCount() {
+		return jdbc.queryForObject("SELECT likes_count FROM films WHERE id = ?", Integer.class, filmId);
+	}
+
+	private static User user() {
+		String login = UUID.randomUUID().toString().substring(0, 8);
+		return User.builder()
+				.email(login + "@mail.ru")
+				.login(login)
+				.name(login)
+				.birthday(LocalDate.of(2000, 1, 1))
+				.build();
+	}
+}
@@ -0,0 +1,66 @@
+package ru.yandex.practicum.filmorate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.util.Assert;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
+import ru.yandex.practicum.filmorate.dbTests.DataTest;
+import ru.yandex.practicum.filmorate.exception.NotFoundException;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.FilmService;
+import ru.yandex.practicum.filmorate.service.UserService;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:user-recommendations;DB_CLOSE_DELAY=-1")
+class UserRecommendationsTests {
+	@Autowired
+	private UserService userService;
+	@Autowired
+	private FilmService filmService;
+	@Autowired
+	private UserDbRepository userRepository;
+	@Autowired
+	private FilmDbRepository filmRepository;
+
+	@Test
+	void recommendationsForUnknownUserAreNotFound() {
+		assertThrows(NotFoundException.class, () -> userService.getRecommendations(Long.MAX_VALUE, null),
+				"Рекомендации для id вне диапазона не вернули 404");
+		assertThrows(NotFoundException.class, () -> userService.getRecommendations(Integer.MAX_VALUE + 0L, null),
+				"Рекомендации для несуществующего пользователя не вернули 404");
+	}
+
+	@Test
+	void recommendationsAreUnlimitedByDefault() {
+		Long userId = userRepository.save(user()).getId();
+		Long otherUserId = userRepository.save(user()).getId();
+		Long commonFilmId = filmRepository.save(DataTest.TEST_FILM).getId();
+		filmService.putLike(commonFilmId, userId);
+		filmService.putLike(commonFilmId, otherUserId);
+
+		int recommendedCount = 12;
+		for (int i = 0; i < recommendedCount; i++) {
+			filmService.putLike(filmRepository.save(DataTest.OTHER_TEST_FILM).getId(), otherUserId);
+		}
+
+		Assert.isTrue(userService.getRecommendations(userId, null).size() == recommendedCount,
+				"Рекомендации без limit обрезаны");
+		Assert.isTrue(userService.getRecommendations(userId, 5).size() == 5, "Не применен явный limit");
+	}
+
+	private static User user() {
+		String login = UUID.randomUUID().toString().substring(0, 8);
+		return User.builder()
+				.email(login + "@mail.ru")
+				.login(login)
+				.name(login)
+				.birthday(LocalDate.of(2000, 1, 1))
+				.build();
+	}
+}
@@ -0,0 +1,101 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import ru.yandex.practicum.filmorate.FilmorateApplication;
+
+import java.util.Random;
+import java.util.UUID;
+
+@State(Scope.Benchmark)
+public class BenchmarkEnvironment {
+    @Param({"10000"})
+    private int films;
+
+    @Param({"5000"})
+    private int users;
+
+    @Param({"20"})
+    private int likesPerUser;
+
+    @Param({"10"})
+    private int friendsPerUser;
+
+    @Param({"2"})
+    private int reviewsPerFilm;
+
+    @Param({"1.1"})
+    private double zipfExponent;
+
+    @Param({"true"})
+    private boolean metrics;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbc;
+    private SyntheticDataSet dataSet;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = "jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url, "sa", "");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .load()
+                .migrate();
+        jdbc = new JdbcTemplate(dataSource);
+        dataSet = new SyntheticDataSet(films, users, likesPerUser, friendsPerUser, reviewsPerFilm, zipfExponent, 42);
+        dataSet.load(jdbc);
+
+        context = new SpringApplicationBuilder(FilmorateApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.main.banner-mode=off",
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--filmorate.sql.plan-check.enabled=false",
+                        "--filmorate.metrics.enabled=" + metrics,
+                        "--logging.level.root=WARN");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        jdbc.execute("SHUTDOWN");
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public long randomFilmId(Random random) {
+        return pick(dataSet.filmIds(), random);
+    }
+
+    public long randomUserId(Random random) {
+        return pick(dataSet.userIds(), random);
+    }
+
+    public long randomDirectorId(Random random) {
+        return pick(dataSet.directorIds(), random);
+    }
+
+    public long randomReviewId(Random random) {
+        return pick(dataSet.reviewIds(), random);
+    }
+
+    private static long pick(long[] ids, Random random) {
+        return ids[random.nextInt(ids.length)];
+    }
+}
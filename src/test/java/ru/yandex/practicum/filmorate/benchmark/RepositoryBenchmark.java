@@ -0,0 +1,239 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmDbSearcher;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRelationLoader;
+import ru.yandex.practicum.filmorate.dal.db.friendship.FriendshipDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.like.LikeChange;
+import ru.yandex.practicum.filmorate.dal.db.like.LikeDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.review.ReviewDbRepository;
+import ru.yandex.practicum.filmorate.enums.FriendshipStatus;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.Review;
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+    private static final int PAGE_SIZE = 50;
+    private static final int POPULAR_COUNT = 10;
+
+    private BenchmarkEnvironment environment;
+    private FilmRelationLoader filmRelationLoader;
+    private FilmDbSearcher filmSearcher;
+    private LikeDbRepository likeRepository;
+    private ReviewDbRepository reviewRepository;
+    private FriendshipDbRepository friendshipRepository;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkEnvironment environment) {
+        this.environment = environment;
+        filmRelationLoader = environment.bean(FilmRelationLoader.class);
+        filmSearcher = environment.bean(FilmDbSearcher.class);
+        likeRepository = environment.bean(LikeDbRepository.class);
+        reviewRepository = environment.bean(ReviewDbRepository.class);
+        friendshipRepository = environment.bean(FriendshipDbRepository.class);
+        random = new Random(7);
+    }
+
+    @Benchmark
+    public List<Film> filmRelationLoaderFindAll() {
+        return filmRelationLoader.findAllWithRelationsOrderedById();
+    }
+
+    @Benchmark
+    public List<Film> filmRelationLoaderFindPage() {
+        return filmRelationLoader.findPageWithRelations(environment.randomFilmId(random), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Collection<Film> filmSearcherSortedByLikes() {
+        return filmSearcher.getSortedFilms(environment.randomDirectorId(random), "likes");
+    }
+
+    @Benchmark
+    public Collection<Film> filmSearcherSortedByYear() {
+        return filmSearcher.getSortedFilms(environment.randomDirectorId(random), "year");
+    }
+
+    @Benchmark
+    public List<Long> filmSearcherPopularByGenreAndYear() {
+        return filmSearcher.findPopularFilmIds(POPULAR_COUNT, 1L + random.nextInt(6), 1950 + random.nextInt(70));
+    }
+
+    @Benchmark
+    public List<Film> filmSearcherFindByIds() {
+        List<Long> ids = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            ids.add(environment.randomFilmId(random));
+        }
+        return filmSearcher.findFilmsWithRelationsByIdsPreservingOrder(ids);
+    }
+
+    @Benchmark
+    public boolean likeSaveAndDelete() {
+        long filmId = environment.randomFilmId(random);
+        long userId = environment.randomUserId(random);
+        if (likeRepository.exists(filmId, userId)) {
+            return likeRepository.delete(filmId, userId) & likeRepository.save(filmId, userId);
+        }
+        return likeRepository.save(filmId, userId) & likeRepository.delete(filmId, userId);
+    }
+
+    @Benchmark
+    public List<LikeChange> likeSaveChanges() {
+        long filmId = environment.randomFilmId(random);
+        long userId = environment.randomUserId(random);
+        boolean liked = likeRepository.exists(filmId, userId);
+        return likeRepository.saveChanges(List.of(new LikeChange(filmId, userId, !liked),
+                new LikeChange(filmId, userId, liked)));
+    }
+
+    @Benchmark
+    public boolean likeExists() {
+        return likeRepository.exists(environment.randomFilmId(random), environment.randomUserId(random));
+    }
+
+    @Benchmark
+    public List<Long> likeFindFilmLikes() {
+        return likeRepository.findFilmLikes(environment.randomFilmId(random));
+    }
+
+    @Benchmark
+    public List<Long> likeFindUserLikes() {
+        return likeRepository.findUserLikes(environment.randomUserId(random));
+    }
+
+    @Benchmark
+    public void likeFindAll(Blackhole blackhole) {
+        likeRepository.findAllLikes((filmId, userId) -> blackhole.consume(filmId));
+    }
+
+    @Benchmark
+    public List<Long> likeFindPopularFilms() {
+        return likeRepository.findPopularFilms();
+    }
+
+    @Benchmark
+    public Map<Long, Long> likeFindCountByFilm() {
+        return likeRepository.findLikesCountByFilm();
+    }
+
+    @Benchmark
+    public int likeReconcileCount() {
+        return likeRepository.reconcileLikesCount();
+    }
+
+    @Benchmark
+    public Review reviewSaveUpdateAndDelete() {
+        Review review = reviewRepository.save(Review.builder()
+                .content("Отзыв для замера")
+                .isPositive(true)
+                .userId(environment.randomUserId(random))
+                .filmId(environment.randomFilmId(random))
+                .build());
+        Review updated = reviewRepository.update(review.toBuilder().content("Измененный отзыв").build());
+        reviewRepository.delete(review.getReviewId());
+        return updated;
+    }
+
+    @Benchmark
+    public Optional<Review> reviewGetById() {
+        return reviewRepository.getById(environment.randomReviewId(random));
+    }
+
+    @Benchmark
+    public List<Review> reviewGetByFilm() {
+        return reviewRepository.getByFilmId(environment.randomFilmId(random), POPULAR_COUNT);
+    }
+
+    @Benchmark
+    public List<Review> reviewGetAll() {
+        return reviewRepository.getAll(POPULAR_COUNT);
+    }
+
+    @Benchmark
+    public void reviewFindAll(Blackhole blackhole) {
+        reviewRepository.findAll(blackhole::consume);
+    }
+
+    @Benchmark
+    public int reviewLikeAndRemove() {
+        long reviewId = environment.randomReviewId(random);
+        long userId = environment.randomUserId(random);
+        return reviewRepository.addLike(reviewId, userId) + reviewRepository.removeLike(reviewId, userId);
+    }
+
+    @Benchmark
+    public int reviewDislikeAndRemove() {
+        long reviewId = environment.randomReviewId(random);
+        long userId = environment.randomUserId(random);
+        return reviewRepository.addDislike(reviewId, userId) + reviewRepository.removeDislike(reviewId, userId);
+    }
+
+    @Benchmark
+    public boolean friendshipSaveUpdateAndDelete() {
+        long userId = environment.randomUserId(random);
+        long friendId = environment.randomUserId(random);
+        if (userId == friendId || friendshipRepository.findStatus(userId, friendId).isPresent()
+                || friendshipRepository.findStatus(friendId, userId).isPresent()) {
+            return false;
+        }
+
+        boolean saved = friendshipRepository.save(userId, friendId);
+        friendshipRepository.update(userId, friendId, FriendshipStatus.NOT_CONFIRMED);
+        friendshipRepository.delete(userId, friendId);
+        friendshipRepository.delete(friendId, userId);
+        return saved;
+    }
+
+    @Benchmark
+    public List<User> friendshipFindAllFriends() {
+        return friendshipRepository.findAllFriends(environment.randomUserId(random));
+    }
+
+    @Benchmark
+    public Optional<FriendshipStatus> friendshipFindStatus() {
+        return friendshipRepository.findStatus(environment.randomUserId(random), environment.randomUserId(random));
+    }
+
+    @Benchmark
+    public void friendshipFindAllByStatus(Blackhole blackhole) {
+        friendshipRepository.findAllFriendships(FriendshipStatus.CONFIRMED,
+                (userId, friendId) -> blackhole.consume(friendId));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RepositoryBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,134 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.yandex.practicum.filmorate.dto.event.EventDto;
+import ru.yandex.practicum.filmorate.dto.film.FilmDto;
+import ru.yandex.practicum.filmorate.dto.user.UserDto;
+import ru.yandex.practicum.filmorate.service.FilmService;
+import ru.yandex.practicum.filmorate.service.UserService;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    private static final int PAGE_SIZE = 50;
+    private static final int POPULAR_COUNT = 10;
+    private static final String[] SEARCH_QUERIES = {"город", "ноч", "звезда 1", "режиссер 4", "ветер"};
+
+    private BenchmarkEnvironment environment;
+    private FilmService filmService;
+    private UserService userService;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkEnvironment environment) {
+        this.environment = environment;
+        filmService = environment.bean(FilmService.class);
+        userService = environment.bean(UserService.class);
+        random = new Random(7);
+    }
+
+    @Benchmark
+    public FilmDto filmGet() {
+        return filmService.getFilm(environment.randomFilmId(random));
+    }
+
+    @Benchmark
+    public List<FilmDto> filmGetAll() {
+        return filmService.getFilms();
+    }
+
+    @Benchmark
+    public List<FilmDto> filmGetPage() {
+        return filmService.getFilms(environment.randomFilmId(random), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<FilmDto> filmGetPopular() {
+        return filmService.getFilmsPopular(POPULAR_COUNT, null, null);
+    }
+
+    @Benchmark
+    public List<FilmDto> filmGetPopularByGenreAndYear() {
+        return filmService.getFilmsPopular(POPULAR_COUNT, 1L + random.nextInt(6), 1950 + random.nextInt(70));
+    }
+
+    @Benchmark
+    public Collection<FilmDto> filmGetSortedByDirector() {
+        String sortBy = random.nextBoolean() ? "likes" : "year";
+        return filmService.getSortedFilms(environment.randomDirectorId(random), sortBy);
+    }
+
+    @Benchmark
+    public List<FilmDto> filmSearch() {
+        return filmService.searchFilms(SEARCH_QUERIES[random.nextInt(SEARCH_QUERIES.length)], "title,director");
+    }
+
+    @Benchmark
+    public List<FilmDto> filmGetCommon() {
+        return filmService.getCommonFilms(environment.randomUserId(random), environment.randomUserId(random));
+    }
+
+    @Benchmark
+    public List<FilmDto> filmGetRecommendations() {
+        return filmService.getRecommendations(environment.randomUserId(random), POPULAR_COUNT);
+    }
+
+    @Benchmark
+    public UserDto userGet() {
+        return userService.getUser(environment.randomUserId(random));
+    }
+
+    @Benchmark
+    public List<UserDto> userGetPage() {
+        return userService.getUsers(environment.randomUserId(random), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<UserDto> userGetFriends() {
+        return userService.getFriends(environment.randomUserId(random));
+    }
+
+    @Benchmark
+    public List<UserDto> userGetCommonFriends() {
+        return userService.getCommonFriends(environment.randomUserId(random), environment.randomUserId(random));
+    }
+
+    @Benchmark
+    public List<EventDto> userGetFeed() {
+        return userService.getUserFeed(environment.randomUserId(random));
+    }
+
+    @Benchmark
+    public List<EventDto> userGetFeedPage() {
+        return userService.getUserFeed(environment.randomUserId(random), 0L, PAGE_SIZE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ServiceBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
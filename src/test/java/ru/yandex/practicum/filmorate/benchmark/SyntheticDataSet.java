@@ -0,0 +1,207 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.yandex.practicum.filmorate.enums.EventType;
+import ru.yandex.practicum.filmorate.enums.FriendshipStatus;
+import ru.yandex.practicum.filmorate.enums.Operation;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public final class SyntheticDataSet {
+    private static final int BATCH_SIZE = 10_000;
+    private static final int GENRES = 6;
+    private static final int MPAS = 5;
+    private static final String[] WORDS = {"Тень", "Город", "Море", "Ночь", "Звезда", "Путь", "Огонь", "Лес",
+            "Время", "Север", "Ветер", "Остров"};
+
+    private final int films;
+    private final int users;
+    private final int likesPerUser;
+    private final int friendsPerUser;
+    private final int reviewsPerFilm;
+    private final double zipfExponent;
+    private final Random random;
+
+    private long[] filmIds;
+    private long[] userIds;
+    private long[] directorIds;
+    private long[] reviewIds;
+
+    public SyntheticDataSet(int films, int users, int likesPerUser, int friendsPerUser, int reviewsPerFilm,
+                     double zipfExponent, long seed) {
+        this.films = films;
+        this.users = users;
+        this.likesPerUser = Math.min(likesPerUser, films);
+        this.friendsPerUser = Math.min(friendsPerUser, users - 1);
+        this.reviewsPerFilm = reviewsPerFilm;
+        this.zipfExponent = zipfExponent;
+        this.random = new Random(seed);
+    }
+
+    public void load(JdbcTemplate jdbc) {
+        directorIds = insertDirectors(jdbc);
+        filmIds = insertFilms(jdbc);
+        userIds = insertUsers(jdbc);
+        insertLikes(jdbc);
+        insertFriendships(jdbc);
+        reviewIds = insertReviews(jdbc);
+    }
+
+    public long[] filmIds() {
+        return filmIds;
+    }
+
+    public long[] userIds() {
+        return userIds;
+    }
+
+    public long[] directorIds() {
+        return directorIds;
+    }
+
+    public long[] reviewIds() {
+        return reviewIds;
+    }
+
+    private long[] insertDirectors(JdbcTemplate jdbc) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= Math.max(1, films / 20); i++) {
+            rows.add(new Object[]{"Режиссер " + i});
+        }
+        batch(jdbc, "INSERT INTO directors (name) VALUES (?)", rows);
+        return ids(jdbc, "SELECT id FROM directors ORDER BY id");
+    }
+
+    private long[] insertFilms(JdbcTemplate jdbc) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= films; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            rows.add(new Object[]{title, "Описание " + i,
+                    Date.valueOf(LocalDate.of(1950, 1, 1).plusDays(random.nextInt(27_000))),
+                    60 + random.nextInt(120), 1 + random.nextInt(MPAS)});
+        }
+        batch(jdbc, "INSERT INTO films (name, description, release_date, duration, mpa_id) VALUES (?, ?, ?, ?, ?)",
+                rows);
+        long[] ids = ids(jdbc, "SELECT id FROM films ORDER BY id");
+
+        List<Object[]> genreLinks = new ArrayList<>();
+        List<Object[]> directorLinks = new ArrayList<>();
+        for (long filmId : ids) {
+            int genreOffset = random.nextInt(GENRES);
+            for (int link = 0; link < 1 + random.nextInt(3); link++) {
+                genreLinks.add(new Object[]{filmId, 1 + (genreOffset + link) % GENRES});
+            }
+            directorLinks.add(new Object[]{filmId, directorIds[random.nextInt(directorIds.length)]});
+        }
+        batch(jdbc, "INSERT INTO film_genres (film_id, genre_id) VALUES (?, ?)", genreLinks);
+        batch(jdbc, "INSERT INTO film_directors (film_id, director_id) VALUES (?, ?)", directorLinks);
+
+        return ids;
+    }
+
+    private long[] insertUsers(JdbcTemplate jdbc) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= users; i++) {
+            rows.add(new Object[]{"user" + i + "@mail.ru", "user" + i, "Пользователь " + i,
+                    Date.valueOf(LocalDate.of(1960, 1, 1).plusDays(random.nextInt(18_000)))});
+        }
+        batch(jdbc, "INSERT INTO users (email, login, name, birthday) VALUES (?, ?, ?, ?)", rows);
+        return ids(jdbc, "SELECT id FROM users ORDER BY id");
+    }
+
+    private void insertLikes(JdbcTemplate jdbc) {
+        long[] filmsByPopularity = shuffled(filmIds);
+        ZipfDistribution popularity = new ZipfDistribution(filmsByPopularity.length, zipfExponent);
+        List<Object[]> likes = new ArrayList<>();
+        List<Object[]> events = new ArrayList<>();
+        long timestamp = System.currentTimeMillis();
+
+        for (long userId : userIds) {
+            Set<Long> liked = new LinkedHashSet<>();
+            while (liked.size() < likesPerUser) {
+                liked.add(filmsByPopularity[popularity.sample(random)]);
+            }
+            for (Long filmId : liked) {
+                likes.add(new Object[]{filmId, userId});
+                events.add(new Object[]{userId, filmId, EventType.LIKE.name(), Operation.ADD.name(), timestamp++});
+            }
+        }
+
+        batch(jdbc, "INSERT INTO films_likes (film_id, user_id) VALUES (?, ?)", likes);
+        batch(jdbc, "INSERT INTO feed_events (user_id, entity_id, event_type, operation, timestamp) "
+                + "VALUES (?, ?, ?, ?, ?)", events);
+        jdbc.update("UPDATE films f SET likes_count = (SELECT COUNT(*) FROM films_likes fl WHERE fl.film_id = f.id)");
+    }
+
+    private void insertFriendships(JdbcTemplate jdbc) {
+        long[] usersByPopularity = shuffled(userIds);
+        ZipfDistribution popularity = new ZipfDistribution(usersByPopularity.length, zipfExponent);
+        Map<List<Long>, Boolean> edges = new HashMap<>();
+
+        for (long userId : userIds) {
+            int added = 0;
+            while (added < friendsPerUser) {
+                long friendId = usersByPopularity[popularity.sample(random)];
+                if (friendId == userId || Boolean.TRUE.equals(edges.get(List.of(userId, friendId)))) {
+                    continue;
+                }
+                edges.put(List.of(userId, friendId), true);
+                edges.putIfAbsent(List.of(friendId, userId), false);
+                added++;
+            }
+        }
+
+        int confirmed = jdbc.queryForObject("SELECT id FROM friendship_status WHERE name = ?", Integer.class,
+                FriendshipStatus.CONFIRMED.name());
+        int notConfirmed = jdbc.queryForObject("SELECT id FROM friendship_status WHERE name = ?", Integer.class,
+                FriendshipStatus.NOT_CONFIRMED.name());
+        List<Object[]> rows = new ArrayList<>(edges.size());
+        edges.forEach((edge, isConfirmed) ->
+                rows.add(new Object[]{edge.get(0), edge.get(1), isConfirmed ? confirmed : notConfirmed}));
+        batch(jdbc, "INSERT INTO users_friends (user_id, friend_id, friendship_status_id) VALUES (?, ?, ?)", rows);
+    }
+
+    private long[] insertReviews(JdbcTemplate jdbc) {
+        List<Object[]> rows = new ArrayList<>();
+        for (long filmId : filmIds) {
+            for (int i = 0; i < reviewsPerFilm; i++) {
+                rows.add(new Object[]{"Отзыв о фильме " + filmId, random.nextBoolean(),
+                        userIds[random.nextInt(userIds.length)], filmId, random.nextInt(21) - 10});
+            }
+        }
+        batch(jdbc, "INSERT INTO reviews (content, is_positive, user_id, film_id, useful) VALUES (?, ?, ?, ?, ?)",
+                rows);
+        return ids(jdbc, "SELECT review_id FROM reviews ORDER BY review_id");
+    }
+
+    private long[] shuffled(long[] ids) {
+        long[] result = ids.clone();
+        for (int i = result.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = result[i];
+            result[i] = result[j];
+            result[j] = swap;
+        }
+        return result;
+    }
+
+    private static long[] ids(JdbcTemplate jdbc, String sql) {
+        return jdbc.queryForList(sql, Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private static void batch(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+}
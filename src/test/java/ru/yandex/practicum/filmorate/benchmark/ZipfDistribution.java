@@ -0,0 +1,29 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public final class ZipfDistribution {
+    private final double[] cumulative;
+
+    public ZipfDistribution(int size, double exponent) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Размер распределения должен быть положительным: " + size);
+        }
+
+        cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    public int sample(Random random) {
+        int position = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(position >= 0 ? position : -position - 1, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,151 @@
+package ru.yandex.practicum.filmorate.dal.db.film;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilmRelationLoaderBenchmark {
+    private static final int GENRES = 6;
+    private static final int MPAS = 5;
+
+    @Param({"1000", "10000"})
+    private int films;
+
+    @Param({"3"})
+    private int linksPerFilm;
+
+    @Param({"100"})
+    private int pageSize;
+
+    private EmbeddedDatabase database;
+    private FilmRelationLoader joinLoader;
+    private FilmRelationLoader splitLoader;
+    private List<Film> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        Flyway.configure()
+                .dataSource(database)
+                .load()
+                .migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        Random random = new Random(42);
+
+        int directors = Math.max(1, films / 20);
+        List<Object[]> directorRows = new ArrayList<>();
+        for (int i = 1; i <= directors; i++) {
+            directorRows.add(new Object[]{"Режиссер " + i});
+        }
+        jdbc.batchUpdate("INSERT INTO directors (name) VALUES (?)", directorRows);
+
+        List<Object[]> filmRows = new ArrayList<>();
+        for (int i = 1; i <= films; i++) {
+            filmRows.add(new Object[]{"Фильм " + i, "Описание " + i,
+                    Date.valueOf(LocalDate.of(1950, 1, 1).plusDays(random.nextInt(25_000))),
+                    60 + random.nextInt(120), 1 + random.nextInt(MPAS)});
+        }
+        jdbc.batchUpdate("INSERT INTO films (name, description, release_date, duration, mpa_id) "
+                + "VALUES (?, ?, ?, ?, ?)", filmRows);
+
+        List<Long> filmIds = jdbc.queryForList("SELECT id FROM films ORDER BY id", Long.class);
+        List<Object[]> genreLinks = new ArrayList<>();
+        List<Object[]> directorLinks = new ArrayList<>();
+        for (Long filmId : filmIds) {
+            int genreOffset = random.nextInt(GENRES);
+            int directorOffset = random.nextInt(directors);
+            for (int link = 0; link < linksPerFilm; link++) {
+                genreLinks.add(new Object[]{filmId, 1 + (genreOffset + link) % GENRES});
+                if (link < directors) {
+                    directorLinks.add(new Object[]{filmId, 1 + (directorOffset + link) % directors});
+                }
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO film_genres (film_id, genre_id) VALUES (?, ?)", genreLinks);
+        jdbc.batchUpdate("INSERT INTO film_directors (film_id, director_id) VALUES (?, ?)", directorLinks);
+
+        ReferenceDataDictionary dictionary = new ReferenceDataDictionary(jdbc, new MpaRowMapper(), new GenreRowMapper());
+        dictionary.load();
+        FilmRowMapper filmRowMapper = new FilmRowMapper();
+        joinLoader = new FilmRelationLoader(jdbc, filmRowMapper, dictionary,
+                FilmRelationLoader.Mode.JOIN);
+        splitLoader = new FilmRelationLoader(jdbc, filmRowMapper, dictionary,
+                FilmRelationLoader.Mode.SPLIT);
+
+        page = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            Long filmId = filmIds.get(random.nextInt(filmIds.size()));
+            page.add(Film.builder().id(filmId).build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public List<Film> findAllJoin() {
+        return joinLoader.findAllWithRelationsOrderedById();
+    }
+
+    @Benchmark
+    public List<Film> findAllSplit() {
+        return splitLoader.findAllWithRelationsOrderedById();
+    }
+
+    @Benchmark
+    public List<Film> enrichPageJoin() {
+        return joinLoader.enrichFilmsPreservingOrder(page);
+    }
+
+    @Benchmark
+    public List<Film> enrichPageSplit() {
+        return splitLoader.enrichFilmsPreservingOrder(page);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FilmRelationLoaderBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,116 @@
+package ru.yandex.practicum.filmorate.dbTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.util.Assert;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRelationLoader;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.user.UserRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dal.index.FilmSearchIndex;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
+import ru.yandex.practicum.filmorate.model.Director;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.Genre;
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.util.Set;
+
+@JdbcTest
+@AutoConfigureTestDatabase
+@Import({EntityCache.class, ReferenceDataDictionary.class, FilmSearchIndex.class, FilmDbRepository.class,
+        GenreDbRepository.class, MpaDbRepository.class, DirectorDbRepository.class, FilmRowMapper.class,
+        GenreRowMapper.class, MpaRowMapper.class, DirectorRowMapper.class, FilmRelationLoader.class,
+        UserDbRepository.class, UserRowMapper.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class EntityCacheTest {
+    private final EntityCache entityCache;
+    private final FilmDbRepository filmRepository;
+    private final UserDbRepository userRepository;
+    private final DirectorDbRepository directorRepository;
+    private final FilmSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        entityCache.invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Повторное чтение фильма обслуживается из кэша копией")
+    public void testFilmCacheHit() {
+        Long filmId = filmRepository.save(DataTest.TEST_FILM).getId();
+        entityCache.evictFilm(filmId);
+        long hits = entityCache.filmStats().hitCount();
+        long misses = entityCache.filmStats().missCount();
+
+        Film film = filmRepository.findById(filmId).orElseThrow();
+        film.getGenres().add(Genre.builder().id(5L).build());
+        Film cachedFilm = filmRepository.findById(filmId).orElseThrow();
+
+        Assert.isTrue(entityCache.filmStats().missCount() == misses + 1, "Первое чтение не учтено как промах");
+        Assert.isTrue(entityCache.filmStats().hitCount() == hits + 1, "Повторное чтение не попало в кэш");
+        Assert.isTrue(cachedFilm.getGenres().size() == 1, "Изменение копии попало в кэш");
+        Assert.isTrue(filmRepository.existsById(filmId), "Фильм из кэша не найден");
+    }
+
+    @Test
+    @DisplayName("Кэш и поисковый индекс не видят незафиксированные изменения")
+    public void testUncommittedWritesNotCached() {
+        Long filmId = filmRepository.save(DataTest.TEST_FILM.toBuilder().name("Незафиксированный").build()).getId();
+        Long userId = userRepository.save(DataTest.TEST_USER).getId();
+
+        Assert.isTrue(!entityCache.containsFilm(filmId), "Фильм попал в кэш до фиксации транзакции");
+        Assert.isTrue(searchIndex.search("незафикс", true, false).isEmpty(),
+                "Фильм попал в поисковый индекс до фиксации транзакции");
+        Assert.isTrue(!entityCache.containsUser(userId), "Пользователь попал в кэш до фиксации транзакции");
+    }
+
+    @Test
+    @DisplayName("Обновление и удаление пользователя сбрасывают кэш")
+    public void testUserWriteThrough() {
+        User user = userRepository.save(DataTest.TEST_USER);
+        userRepository.findById(user.getId());
+
+        userRepository.update(user.toBuilder().name("Новое имя").build());
+
+        Assert.isTrue(userRepository.findById(user.getId()).orElseThrow().getName().equals("Новое имя"),
+                "Из кэша получен устаревший пользователь");
+
+        userRepository.delete(user.getId());
+
+        Assert.isTrue(userRepository.findById(user.getId()).isEmpty(), "Удаленный пользователь остался в кэше");
+        Assert.isTrue(!userRepository.existsById(user.getId()), "Удаленный пользователь найден");
+    }
+
+    @Test
+    @DisplayName("Изменение режиссера сбрасывает кэш фильмов")
+    public void testDirectorUpdateEvictsFilms() {
+        Director director = Director.builder().name("Кристофер Нолан").build();
+        directorRepository.addDirector(director);
+        Long filmId = filmRepository.save(DataTest.TEST_FILM.toBuilder()
+                .directors(Set.of(director))
+                .build()).getId();
+        filmRepository.findById(filmId);
+
+        directorRepository.updateDirector(Director.builder().id(director.getId()).name("Нолан").build());
+
+        Assert.isTrue(filmRepository.findById(filmId).orElseThrow().getDirectors().iterator().next().getName()
+                .equals("Нолан"), "Из кэша получен фильм со старым режиссером");
+        Assert.isTrue(filmRepository.delete(filmId), "Фильм не удален");
+        Assert.isTrue(!filmRepository.existsById(filmId), "Удаленный фильм остался в кэше");
+    }
+}
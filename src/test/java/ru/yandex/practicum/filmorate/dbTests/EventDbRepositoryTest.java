@@ -0,0 +1,86 @@
+package ru.yandex.practicum.filmorate.dbTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.util.Assert;
+import ru.yandex.practicum.filmorate.dal.db.event.EventDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.event.EventRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.user.UserRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dto.event.NewEventRequest;
+import ru.yandex.practicum.filmorate.enums.EventType;
+import ru.yandex.practicum.filmorate.enums.Operation;
+import ru.yandex.practicum.filmorate.model.Event;
+
+import java.util.List;
+
+@JdbcTest
+@AutoConfigureTestDatabase
+@Import({EntityCache.class, EventDbRepository.class, EventRowMapper.class, UserDbRepository.class, UserRowMapper.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class EventDbRepositoryTest {
+    private final EventDbRepository eventRepository;
+    private final UserDbRepository userRepository;
+
+    private Long userId;
+    private Long otherUserId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(DataTest.TEST_USER).getId();
+        otherUserId = userRepository.save(DataTest.OTHER_TEST_USER).getId();
+    }
+
+    @Test
+    @DisplayName("Постраничное чтение ленты событий по eventId")
+    public void testFindUserEventsPage() {
+        List<Long> eventIds = List.of(
+                saveEvent(userId, Operation.ADD),
+                saveEvent(otherUserId, Operation.ADD),
+                saveEvent(userId, Operation.REMOVE),
+                saveEvent(userId, Operation.ADD));
+
+        List<Event> firstPage = eventRepository.findUserEventsPage(userId, 0, 2);
+        List<Event> secondPage = eventRepository.findUserEventsPage(userId, firstPage.getLast().getEventId(), 2);
+
+        Assert.isTrue(firstPage.stream().map(Event::getEventId).toList()
+                        .equals(List.of(eventIds.get(0), eventIds.get(2))),
+                "Первая страница ленты неверна");
+        Assert.isTrue(secondPage.stream().map(Event::getEventId).toList()
+                        .equals(List.of(eventIds.get(3))),
+                "Вторая страница ленты неверна");
+    }
+
+    @Test
+    @DisplayName("Потоковое чтение ленты событий")
+    public void testStreamUserEvents() {
+        for (int i = 0; i < 5; i++) {
+            saveEvent(userId, Operation.ADD);
+        }
+
+        List<Event> events = eventRepository.streamUserEvents(userId, 0, 3).toList();
+        List<Event> allEvents = eventRepository.streamUserEvents(userId, 0, Integer.MAX_VALUE).toList();
+
+        Assert.isTrue(events.size() == 3, "Поток не ограничен limit");
+        Assert.isTrue(allEvents.equals(eventRepository.findUserEvents(userId)),
+                "Поток ленты не совпадает с полной лентой");
+    }
+
+    private Long saveEvent(Long ownerId, Operation operation) {
+        NewEventRequest request = NewEventRequest.builder()
+                .userId(ownerId)
+                .entityId(otherUserId)
+                .eventType(EventType.FRIEND)
+                .operation(operation)
+                .build();
+
+        return eventRepository.save(request).getEventId();
+    }
+}
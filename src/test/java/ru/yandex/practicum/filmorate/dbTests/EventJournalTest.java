@@ -0,0 +1,137 @@
+package ru.yandex.practicum.filmorate.dbTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.util.Assert;
+import ru.yandex.practicum.filmorate.dal.db.event.EventDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.event.EventRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.user.UserRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dto.event.NewEventRequest;
+import ru.yandex.practicum.filmorate.enums.EventType;
+import ru.yandex.practicum.filmorate.enums.Operation;
+import ru.yandex.practicum.filmorate.model.Event;
+import ru.yandex.practicum.filmorate.service.EventJournal;
+
+import java.util.List;
+
+@JdbcTest
+@AutoConfigureTestDatabase
+@TestPropertySource(properties = {
+        "filmorate.events.journal.enabled=true",
+        "filmorate.events.journal.flush-interval-ms=600000",
+        "filmorate.events.journal.batch-size=1000",
+        "filmorate.events.journal.capacity=4"
+})
+@Import({EntityCache.class, EventJournal.class, EventDbRepository.class, EventRowMapper.class, UserDbRepository.class,
+        UserRowMapper.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class EventJournalTest {
+    private final EventJournal eventJournal;
+    private final EventDbRepository eventRepository;
+    private final UserDbRepository userRepository;
+
+    private Long userId;
+    private Long otherUserId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(DataTest.TEST_USER).getId();
+        otherUserId = userRepository.save(DataTest.OTHER_TEST_USER).getId();
+        eventJournal.flush();
+    }
+
+    @Test
+    @DisplayName("События пишутся в БД пакетом при сбросе журнала")
+    public void testAppendAndFlush() {
+        eventJournal.append(event(userId, Operation.ADD));
+        eventJournal.append(event(userId, Operation.REMOVE));
+
+        Assert.isTrue(eventRepository.findUserEvents(userId).isEmpty(), "Событие записано до сброса журнала");
+
+        eventJournal.flush();
+
+        List<Operation> operations = eventRepository.findUserEvents(userId).stream()
+                .map(Event::getOperation)
+                .toList();
+        Assert.isTrue(operations.equals(List.of(Operation.ADD, Operation.REMOVE)),
+                "Порядок событий пользователя нарушен");
+    }
+
+    @Test
+    @DisplayName("Переполнение журнала сохраняет порядок событий")
+    public void testOverflowKeepsOrder() {
+        for (int i = 0; i < 10; i++) {
+            eventJournal.append(event(userId, i % 2 == 0 ? Operation.ADD : Operation.REMOVE));
+        }
+        eventJournal.flush();
+
+        List<Event> events = eventRepository.findUserEvents(userId);
+        Assert.isTrue(events.size() == 10, "Не все события сохранены");
+        for (int i = 0; i < events.size(); i++) {
+            Assert.isTrue(events.get(i).getOperation() == (i % 2 == 0 ? Operation.ADD : Operation.REMOVE),
+                    "Порядок событий пользователя нарушен");
+        }
+    }
+
+    @Test
+    @DisplayName("Время события назначается при постановке в журнал в порядке eventId")
+    public void testTimestampsFollowEventOrder() throws InterruptedException {
+        NewEventRequest earlier = event(userId, Operation.ADD);
+        Thread.sleep(5);
+        NewEventRequest later = event(userId, Operation.REMOVE);
+        later.setTimestamp(System.currentTimeMillis() + 60_000);
+
+        eventJournal.append(later);
+        eventJournal.append(earlier);
+        eventJournal.flush();
+
+        List<Event> events = eventRepository.findUserEvents(userId);
+        Assert.isTrue(events.size() == 2, "Не все события сохранены");
+        Assert.isTrue(events.getFirst().getTimestamp() <= events.getLast().getTimestamp(),
+                "Время событий расходится с порядком eventId");
+    }
+
+    @Test
+    @DisplayName("Синхронная запись видит ранее добавленные события")
+    public void testAppendAndWait() {
+        eventJournal.append(event(userId, Operation.ADD));
+        Event saved = eventJournal.appendAndWait(event(userId, Operation.UPDATE));
+
+        List<Event> events = eventRepository.findUserEvents(userId);
+        Assert.isTrue(events.size() == 2, "Ожидающие события не сброшены перед синхронной записью");
+        Assert.isTrue(events.getLast().getEventId().equals(saved.getEventId()),
+                "Синхронное событие записано не последним");
+    }
+
+    @Test
+    @DisplayName("Чтение ленты сбрасывает журнал только при событиях пользователя")
+    public void testFlushUser() {
+        eventJournal.append(event(userId, Operation.ADD));
+
+        eventJournal.flushUser(otherUserId);
+        Assert.isTrue(eventRepository.findUserEvents(userId).isEmpty(),
+                "Журнал сброшен без событий запрошенного пользователя");
+
+        eventJournal.flushUser(userId);
+        Assert.isTrue(eventRepository.findUserEvents(userId).size() == 1,
+                "События пользователя не сброшены перед чтением ленты");
+    }
+
+    private NewEventRequest event(Long ownerId, Operation operation) {
+        return NewEventRequest.builder()
+                .userId(ownerId)
+                .entityId(otherUserId)
+                .eventType(EventType.FRIEND)
+                .operation(operation)
+                .build();
+    }
+}
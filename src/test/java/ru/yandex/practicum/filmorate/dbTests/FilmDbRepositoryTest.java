@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.util.Assert;
 import ru.yandex.practicum.filmorate.dal.db.director.DirectorDbRepository;
 import ru.yandex.practicum.filmorate.dal.db.director.DirectorRowMapper;
@@ -22,6 +23,11 @@ import ru.yandex.practicum.filmorate.dal.db.mpa.MpaDbRepository;
 import ru.yandex.practicum.filmorate.dal.db.mpa.MpaRowMapper;
 import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
 import ru.yandex.practicum.filmorate.dal.db.user.UserRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dal.index.FilmSearchIndex;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
+import ru.yandex.practicum.filmorate.exception.NotFoundException;
+import ru.yandex.practicum.filmorate.model.Director;
 import ru.yandex.practicum.filmorate.model.Film;
 import ru.yandex.practicum.filmorate.model.Genre;
 import ru.yandex.practicum.filmorate.model.Mpa;
@@ -33,17 +39,24 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 @JdbcTest
 @AutoConfigureTestDatabase
-@Import({FilmDbRepository.class, GenreDbRepository.class, MpaDbRepository.class, DirectorDbRepository.class,
-        FilmRowMapper.class, GenreRowMapper.class, MpaRowMapper.class, DirectorRowMapper.class, UserDbRepository.class,
-        UserRowMapper.class, FilmRelationLoader.class, FilmDbSearcher.class, LikeDbRepository.class})
+@Import({EntityCache.class, ReferenceDataDictionary.class, FilmDbRepository.class, GenreDbRepository.class,
+        MpaDbRepository.class, DirectorDbRepository.class, FilmSearchIndex.class, FilmRowMapper.class,
+        GenreRowMapper.class, MpaRowMapper.class, DirectorRowMapper.class, UserDbRepository.class, UserRowMapper.class,
+        FilmRelationLoader.class, FilmDbSearcher.class, LikeDbRepository.class})
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class FilmDbRepositoryTest {
     private final FilmDbRepository filmRepository;
     private final UserDbRepository userRepository;
     private final LikeDbRepository likeRepository;
     private final FilmDbSearcher filmSearch;
+    private final DirectorDbRepository directorRepository;
+    private final ReferenceDataDictionary dictionary;
+    private final FilmRowMapper filmRowMapper;
+    private final JdbcTemplate jdbc;
 
     private Film film;
     private Long filmId;
@@ -132,16 +145,88 @@ public class FilmDbRepositoryTest {
     }
 
     @Test
-    @DisplayName("Получение рекомендаций по фильмам из БД")
-    public void testGetRecommendations() {
-        likeRepository.save(filmId, userId);
-        likeRepository.save(filmId, otherUserId);
+    @DisplayName("Получение популярных фильмов по жанру и году из БД")
+    public void testFindPopularFilmIds() {
+        likeRepository.save(otherFilmId, userId);
         likeRepository.save(otherFilmId, otherUserId);
-        List<Film> recommendationFilm = filmSearch.findRecommendationsFilms(userId);
+        likeRepository.save(filmId, userId);
+        int year = film.getReleaseDate().getYear();
+
+        Assert.isTrue(filmSearch.findPopularFilmIds(10, null, year).equals(List.of(otherFilmId, filmId)),
+                "Неверный порядок популярных фильмов за год");
+        Assert.isTrue(filmSearch.findPopularFilmIds(10, 1L, year).equals(List.of(filmId)),
+                "Фильтр по жанру не применился");
+        Assert.isTrue(filmSearch.findPopularFilmIds(10, 2L, null).equals(List.of(otherFilmId)),
+                "Фильтр по жанру без года не применился");
+        Assert.isTrue(filmSearch.findPopularFilmIds(10, null, year - 1).isEmpty(),
+                "Фильтр по году не применился");
+        Assert.isTrue(filmSearch.findPopularFilmIds(1, null, year).size() == 1, "Count не соблюдается");
+    }
 
-        Assert.notEmpty(recommendationFilm, "Список фильмов не вернулся");
-        Assert.isTrue(recommendationFilm.size() == 1, "Вернулись оба фильма");
-        Assert.isTrue(recommendationFilm.contains(otherFilm), "Порекомендован не тот фильм");
+    @Test
+    @DisplayName("Загрузка связей фильмов отдельными запросами совпадает с загрузкой через JOIN")
+    public void testSplitLoaderMatchesJoinLoader() {
+        Director director = Director.builder().name("Режиссер").build();
+        directorRepository.addDirector(director);
+        Director otherDirector = Director.builder().name("Другой режиссер").build();
+        directorRepository.addDirector(otherDirector);
+        filmRepository.save(DataTest.TEST_FILM.toBuilder()
+                .genres(Set.of(Genre.builder().id(1L).build(), Genre.builder().id(3L).build()))
+                .directors(Set.of(director, otherDirector))
+                .build());
+
+        FilmRelationLoader joinLoader = new FilmRelationLoader(jdbc, filmRowMapper, dictionary,
+                FilmRelationLoader.Mode.JOIN);
+        FilmRelationLoader splitLoader = new FilmRelationLoader(jdbc, filmRowMapper, dictionary,
+                FilmRelationLoader.Mode.SPLIT);
+
+        List<Film> joined = joinLoader.findAllWithRelationsOrderedById();
+        List<Film> split = splitLoader.findAllWithRelationsOrderedById();
+
+        Assert.isTrue(joined.size() == 3, "Загружены не все фильмы");
+        Assert.isTrue(joined.equals(split), "Результаты загрузчиков отличаются");
     }
-}
 
+    @Test
+    @DisplayName("Постраничная и потоковая выдача фильмов по ключу")
+    public void testFindPageAndStream() {
+        List<Film> firstPage = filmRepository.findPage(0, 1);
+        List<Film> secondPage = filmRepository.findPage(filmId, 10);
+        List<Long> streamed = filmRepository.streamAll(0, Integer.MAX_VALUE).map(Film::getId).toList();
+
+        Assert.isTrue(firstPage.equals(List.of(film)), "Неверная первая страница");
+        Assert.isTrue(secondPage.equals(List.of(otherFilm)), "Неверная вторая страница");
+        Assert.isTrue(streamed.equals(List.of(filmId, otherFilmId)), "Неверная потоковая выдача");
+    }
+
+    @Test
+    @DisplayName("Сохраненный фильм собирается без повторного чтения и совпадает с БД")
+    public void testSavedFilmMatchesDatabase() {
+        Director director = Director.builder().name("Режиссер").build();
+        directorRepository.addDirector(director);
+
+        Film savedFilm = filmRepository.save(DataTest.TEST_FILM.toBuilder()
+                .genres(Set.of(Genre.builder().id(2L).build(), Genre.builder().id(4L).build()))
+                .directors(Set.of(Director.builder().id(director.getId()).build()))
+                .build());
+        Film updatedFilm = filmRepository.update(savedFilm.toBuilder()
+                .name("Новое название")
+                .mpa(Mpa.builder().id(3L).build())
+                .genres(Set.of(Genre.builder().id(4L).build()))
+                .build());
+
+        FilmRelationLoader splitLoader = new FilmRelationLoader(jdbc, filmRowMapper, dictionary,
+                FilmRelationLoader.Mode.SPLIT);
+        Film storedFilm = splitLoader.findAllWithRelationsOrderedById().stream()
+                .filter(loadedFilm -> loadedFilm.getId().equals(savedFilm.getId()))
+                .findFirst()
+                .orElseThrow();
+
+        Assert.isTrue(savedFilm.getDirectors().iterator().next().getName().equals("Режиссер"),
+                "Имя режиссера не подставлено при сохранении");
+        Assert.isTrue(updatedFilm.equals(storedFilm), "Обновленный фильм отличается от сохраненного в БД");
+        assertThrows(NotFoundException.class, () -> filmRepository.save(DataTest.TEST_FILM.toBuilder()
+                .directors(Set.of(Director.builder().id(-1L).build()))
+                .build()), "Фильм с несуществующим режиссером сохранен");
+    }
+}
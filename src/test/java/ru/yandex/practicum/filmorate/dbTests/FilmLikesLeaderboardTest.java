@@ -0,0 +1,101 @@
+package ru.yandex.practicum.filmorate.dbTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.util.Assert;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRelationLoader;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.like.LikeDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.like.LikesCountReconciler;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.user.UserRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dal.index.FilmLikesLeaderboard;
+import ru.yandex.practicum.filmorate.dal.index.FilmSearchIndex;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
+
+import java.util.List;
+
+@JdbcTest
+@AutoConfigureTestDatabase
+@Import({EntityCache.class, ReferenceDataDictionary.class, FilmLikesLeaderboard.class, LikesCountReconciler.class,
+        LikeDbRepository.class, FilmDbRepository.class, GenreDbRepository.class, MpaDbRepository.class,
+        DirectorDbRepository.class, FilmSearchIndex.class, FilmRowMapper.class, GenreRowMapper.class,
+        MpaRowMapper.class, DirectorRowMapper.class, UserDbRepository.class, UserRowMapper.class,
+        FilmRelationLoader.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class FilmLikesLeaderboardTest {
+    private final FilmLikesLeaderboard leaderboard;
+    private final LikeDbRepository likeRepository;
+    private final FilmDbRepository filmRepository;
+    private final UserDbRepository userRepository;
+
+    private Long filmId;
+    private Long otherFilmId;
+
+    @BeforeEach
+    void setUp() {
+        filmId = filmRepository.save(DataTest.TEST_FILM).getId();
+        otherFilmId = filmRepository.save(DataTest.OTHER_TEST_FILM).getId();
+        Long userId = userRepository.save(DataTest.TEST_USER).getId();
+        Long otherUserId = userRepository.save(DataTest.OTHER_TEST_USER).getId();
+
+        likeRepository.save(otherFilmId, userId);
+        likeRepository.save(otherFilmId, otherUserId);
+        likeRepository.save(filmId, userId);
+        leaderboard.load();
+    }
+
+    @Test
+    @DisplayName("Загрузка рейтинга популярных фильмов из БД")
+    public void testLoadLeaderboard() {
+        List<Long> top = leaderboard.findTop(2);
+
+        Assert.isTrue(top.equals(List.of(otherFilmId, filmId)), "Рейтинг загружен в неверном порядке");
+        Assert.isTrue(leaderboard.getLikes(otherFilmId) == 2, "Неверное количество лайков фильма");
+    }
+
+    @Test
+    @DisplayName("Обновление рейтинга при изменении лайков")
+    public void testChangeLikes() {
+        leaderboard.changeLikes(filmId, 2);
+        leaderboard.changeLikes(otherFilmId, -1);
+
+        Assert.isTrue(leaderboard.findTop(1).equals(List.of(filmId)), "Рейтинг не обновился");
+        Assert.isTrue(leaderboard.getLikes(otherFilmId) == 1, "Неверное количество лайков фильма");
+    }
+
+    @Test
+    @DisplayName("Добавление и удаление фильма из рейтинга")
+    public void testAddAndRemoveFilm() {
+        leaderboard.addFilm(100L);
+        Assert.isTrue(leaderboard.findAll().contains(100L), "Фильм без лайков не попал в рейтинг");
+
+        leaderboard.removeFilm(otherFilmId);
+        Assert.isTrue(leaderboard.findTop(1).equals(List.of(filmId)), "Фильм не удалился из рейтинга");
+        Assert.isTrue(leaderboard.findTop(0).isEmpty(), "Count не соблюдается");
+    }
+
+    @Test
+    @DisplayName("Изменение лайков удалённого фильма не возвращает его в рейтинг")
+    public void testChangeLikesOfRemovedFilm() {
+        leaderboard.removeFilm(otherFilmId);
+
+        Assert.isTrue(!leaderboard.changeLikesIfPresent(otherFilmId, 1), "Изменение применено к удалённому фильму");
+        leaderboard.changeLikes(otherFilmId, 1);
+        Assert.isTrue(!leaderboard.findAll().contains(otherFilmId), "Удалённый фильм вернулся в рейтинг");
+    }
+}
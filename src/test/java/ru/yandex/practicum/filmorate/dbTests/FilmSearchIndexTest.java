@@ -0,0 +1,111 @@
+package ru.yandex.practicum.filmorate.dbTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRelationLoader;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dal.index.FilmSearchIndex;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
+import ru.yandex.practicum.filmorate.model.Director;
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.util.Set;
+
+@JdbcTest
+@AutoConfigureTestDatabase
+@Import({EntityCache.class, ReferenceDataDictionary.class, FilmSearchIndex.class, FilmDbRepository.class,
+        GenreDbRepository.class, MpaDbRepository.class, DirectorDbRepository.class, FilmRowMapper.class,
+        GenreRowMapper.class, MpaRowMapper.class, DirectorRowMapper.class, FilmRelationLoader.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class FilmSearchIndexTest {
+    private final FilmSearchIndex searchIndex;
+    private final FilmDbRepository filmRepository;
+    private final DirectorDbRepository directorRepository;
+    private final JdbcTemplate jdbc;
+
+    private Director director;
+    private Film film;
+    private Long otherFilmId;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex.load();
+        director = Director.builder().name("Кристофер Нолан").build();
+        directorRepository.addDirector(director);
+        film = filmRepository.save(DataTest.TEST_FILM.toBuilder()
+                .name("Начало")
+                .directors(Set.of(director))
+                .build());
+        otherFilmId = filmRepository.save(DataTest.OTHER_TEST_FILM.toBuilder()
+                .name("Интерстеллар")
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("DELETE FROM films WHERE id IN (?, ?)", film.getId(), otherFilmId);
+        jdbc.update("DELETE FROM directors WHERE id = ?", director.getId());
+    }
+
+    @Test
+    @DisplayName("Поиск по подстроке названия и имени режиссера")
+    public void testSearch() {
+        Assert.isTrue(searchIndex.search("НАЧ", true, false).equals(Set.of(film.getId())), "Не найден фильм по названию");
+        Assert.isTrue(searchIndex.search("ян", true, false).isEmpty(), "Найден фильм без совпадения в названии");
+        Assert.isTrue(searchIndex.search("стел", true, false).equals(Set.of(otherFilmId)), "Не найден фильм по названию");
+        Assert.isTrue(searchIndex.search("нолан", false, true).equals(Set.of(film.getId())), "Не найден фильм по режиссеру");
+        Assert.isTrue(searchIndex.search("нолан", true, false).isEmpty(), "Найден фильм по режиссеру при поиске по названию");
+        Assert.isTrue(searchIndex.search("н", true, true).equals(Set.of(film.getId(), otherFilmId)), "Неверный поиск по короткому запросу");
+    }
+
+    @Test
+    @DisplayName("Обновление индекса при изменении фильмов и режиссеров")
+    public void testIndexUpdates() {
+        filmRepository.update(film.toBuilder().name("Помни").directors(Set.of()).build());
+        Assert.isTrue(searchIndex.search("начало", true, false).isEmpty(), "Найдено старое название фильма");
+        Assert.isTrue(searchIndex.search("помни", true, false).equals(Set.of(film.getId())), "Не найдено новое название фильма");
+        Assert.isTrue(searchIndex.search("нолан", false, true).isEmpty(), "Найден фильм по удаленной связи с режиссером");
+
+        filmRepository.update(film.toBuilder().name("Помни").directors(Set.of(director)).build());
+        directorRepository.updateDirector(director.toBuilder().name("Дени Вильнёв").build());
+        Assert.isTrue(searchIndex.search("вильн", false, true).equals(Set.of(film.getId())), "Не найден фильм по новому имени режиссера");
+
+        directorRepository.removeDirector(director.getId());
+        Assert.isTrue(searchIndex.search("вильн", false, true).isEmpty(), "Найден фильм удаленного режиссера");
+
+        filmRepository.delete(otherFilmId);
+        Assert.isTrue(searchIndex.search("стел", true, false).isEmpty(), "Найден удаленный фильм");
+    }
+
+    @Test
+    @DisplayName("Обновление без связей берет их из загруженного фильма")
+    public void testUpdateKeepsOmittedRelations() {
+        Film updatedFilm = filmRepository.update(film.toBuilder().name("Помни").directors(null).build(), film);
+
+        Assert.isTrue(updatedFilm.getDirectors().equals(film.getDirectors()), "Режиссеры не взяты из загруженного фильма");
+        Assert.isTrue(searchIndex.search("нолан", false, true).equals(Set.of(film.getId())),
+                "Не найден фильм по сохраненному режиссеру");
+        Assert.isTrue(filmRepository.findById(film.getId()).orElseThrow().equals(updatedFilm),
+                "Обновленный фильм отличается от сохраненного в БД");
+    }
+}
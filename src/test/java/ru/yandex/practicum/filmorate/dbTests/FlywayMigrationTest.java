@@ -0,0 +1,97 @@
+package ru.yandex.practicum.filmorate.dbTests;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+public class FlywayMigrationTest {
+    private static final String MIGRATIONS = "classpath:db/migration";
+    private static final List<String> MIGRATIONS_BEFORE_LIKES_COUNT = List.of("V1__create_schema.sql",
+            "V2__seed_reference_data.sql", "V3__create_indexes.sql", "V4__index_foreign_keys_and_filters.sql");
+
+    @Test
+    @DisplayName("БД со схемой до Flyway дополняется счетчиком лайков с пересчетом")
+    public void testMigrateFromBaselineSchema() {
+        DriverManagerDataSource dataSource = dataSource();
+        new ResourceDatabasePopulator(new ClassPathResource("db/baseline/schema.sql"),
+                new ClassPathResource("db/baseline/data.sql")).execute(dataSource);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        insertFilmsWithLikes(jdbc);
+
+        flyway(dataSource, MIGRATIONS).migrate();
+
+        assertLikesCounts(jdbc);
+        Assert.isTrue(jdbc.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES "
+                        + "WHERE INDEX_NAME = 'FILMS_LIKES_COUNT_IDX'", Integer.class) == 1,
+                "Индекс по счетчику лайков не создан");
+    }
+
+    @Test
+    @DisplayName("БД, мигрированная до появления V5, получает пересчет счетчика лайков")
+    public void testApplyLikesCountMigration(@TempDir Path migrations) throws IOException {
+        for (String migration : MIGRATIONS_BEFORE_LIKES_COUNT) {
+            try (InputStream script = new ClassPathResource("db/migration/" + migration).getInputStream()) {
+                Files.copy(script, migrations.resolve(migration));
+            }
+        }
+        DriverManagerDataSource dataSource = dataSource();
+        flyway(dataSource, "filesystem:" + migrations).migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        insertFilmsWithLikes(jdbc);
+
+        flyway(dataSource, MIGRATIONS).migrate();
+
+        assertLikesCounts(jdbc);
+        Assert.isTrue(Arrays.stream(flyway(dataSource, MIGRATIONS).info().applied())
+                        .map(MigrationInfo::getVersion)
+                        .anyMatch(version -> version != null && version.getVersion().equals("5")),
+                "Миграция счетчика лайков не применена");
+    }
+
+    private static void insertFilmsWithLikes(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO users (email, login, name, birthday) VALUES "
+                + "('first@mail.ru', 'first', 'First', '2000-01-01'), "
+                + "('second@mail.ru', 'second', 'Second', '2000-01-02')");
+        jdbc.update("INSERT INTO films (name, description, release_date, duration, mpa_id) VALUES "
+                + "('Liked', 'Description', '2000-01-01', 100, 1), "
+                + "('Unliked', 'Description', '2000-01-02', 100, 1)");
+        jdbc.update("INSERT INTO films_likes (film_id, user_id) "
+                + "SELECT f.id, u.id FROM films f CROSS JOIN users u WHERE f.name = 'Liked'");
+    }
+
+    private static void assertLikesCounts(JdbcTemplate jdbc) {
+        Assert.isTrue(jdbc.queryForObject("SELECT likes_count FROM films WHERE name = 'Liked'", Integer.class) == 2,
+                "Счетчик лайков не пересчитан по films_likes");
+        Assert.isTrue(jdbc.queryForObject("SELECT likes_count FROM films WHERE name = 'Unliked'", Integer.class) == 0,
+                "Неверный счетчик лайков у фильма без лайков");
+    }
+
+    private static DriverManagerDataSource dataSource() {
+        return new DriverManagerDataSource("jdbc:h2:mem:migration-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "sa", "password");
+    }
+
+    private static Flyway flyway(DriverManagerDataSource dataSource, String location) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations(location)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load();
+    }
+}
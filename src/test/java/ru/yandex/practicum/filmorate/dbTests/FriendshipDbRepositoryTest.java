@@ -10,17 +10,26 @@ import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.util.Assert;
 import ru.yandex.practicum.filmorate.dal.db.friendship.FriendshipDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaRowMapper;
 import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
 import ru.yandex.practicum.filmorate.dal.db.user.UserRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
 import ru.yandex.practicum.filmorate.enums.FriendshipStatus;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
 import ru.yandex.practicum.filmorate.model.User;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @JdbcTest
 @AutoConfigureTestDatabase
-@Import({UserDbRepository.class, FriendshipDbRepository.class, UserRowMapper.class})
+@Import({EntityCache.class, ReferenceDataDictionary.class, UserDbRepository.class, FriendshipDbRepository.class,
+        UserRowMapper.class, GenreRowMapper.class, MpaRowMapper.class})
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class FriendshipDbRepositoryTest {
     private final UserDbRepository userRepository;
@@ -107,20 +116,14 @@ public class FriendshipDbRepositoryTest {
     }
 
     @Test
-    @DisplayName("Найти общих друзей в БД")
-    public void testFindCommonFriends() {
-        friendshipRepository.save(userId, otherUser2Id);
-        friendshipRepository.save(otherUserId, otherUser2Id);
-        List<User> commonFriends = friendshipRepository.findCommonFriends(userId, otherUserId);
+    @DisplayName("Статус дружбы при добавлении определяется по БД")
+    public void testSaveDecidesStatusFromDatabase() {
+        friendshipRepository.save(userId, otherUserId);
+        Assert.isTrue(friendshipRepository.save(otherUserId, userId), "Встречная заявка не подтверждена");
 
-        Assert.isTrue(
-                commonFriends.stream()
-                        .anyMatch(friend -> Objects.equals(friend.getId(), otherUser2Id)),
-                "Общий друг не найден"
-        );
+        Assert.isTrue(friendshipRepository.findStatus(otherUserId, userId).equals(Optional.of(FriendshipStatus.CONFIRMED)),
+                "Встречная заявка не подтверждена в БД");
+        assertThrows(ValidationException.class, () -> friendshipRepository.save(userId, otherUserId),
+                "Повторная дружба добавлена");
     }
 }
-
-
-
-
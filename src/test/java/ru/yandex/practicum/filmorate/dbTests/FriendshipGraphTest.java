@@ -0,0 +1,143 @@
+package ru.yandex.practicum.filmorate.dbTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.util.Assert;
+import ru.yandex.practicum.filmorate.dal.db.friendship.FriendshipDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.user.UserRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dal.index.FriendshipGraph;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
+import ru.yandex.practicum.filmorate.enums.FriendshipStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+@JdbcTest
+@AutoConfigureTestDatabase
+@Import({EntityCache.class, ReferenceDataDictionary.class, FriendshipGraph.class, UserDbRepository.class,
+        FriendshipDbRepository.class, UserRowMapper.class, GenreRowMapper.class, MpaRowMapper.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class FriendshipGraphTest {
+    private final FriendshipGraph friendshipGraph;
+    private final FriendshipDbRepository friendshipRepository;
+    private final UserDbRepository userRepository;
+
+    private Long userId;
+    private Long otherUserId;
+    private Long otherUser2Id;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(DataTest.TEST_USER).getId();
+        otherUserId = userRepository.save(DataTest.OTHER_TEST_USER).getId();
+        otherUser2Id = userRepository.save(DataTest.OTHER_TEST_USER_2).getId();
+        friendshipGraph.load();
+    }
+
+    @Test
+    @DisplayName("Загрузка графа дружбы из БД")
+    public void testLoadFromDatabase() {
+        friendshipRepository.save(userId, otherUser2Id);
+        friendshipRepository.save(otherUserId, otherUser2Id);
+        friendshipRepository.save(otherUserId, userId);
+        friendshipGraph.load();
+
+        Assert.isTrue(friendshipGraph.findFriends(otherUserId).equals(List.of(userId, otherUser2Id)),
+                "Друзья загружены неверно");
+        Assert.isTrue(friendshipGraph.findCommonFriends(userId, otherUserId).equals(List.of(otherUser2Id)),
+                "Общие друзья загружены неверно");
+        Assert.isTrue(friendshipGraph.findStatus(userId, otherUserId).equals(Optional.of(FriendshipStatus.NOT_CONFIRMED)),
+                "Статус заявки в друзья загружен неверно");
+    }
+
+    @Test
+    @DisplayName("Неподтверждённая дружба не попадает в общих друзей")
+    public void testNotConfirmedFriendshipIgnored() {
+        friendshipRepository.save(otherUser2Id, userId);
+        friendshipRepository.save(otherUserId, userId);
+        friendshipGraph.load();
+
+        Assert.isTrue(friendshipGraph.findCommonFriends(otherUser2Id, otherUserId).equals(List.of(userId)),
+                "Общий друг не найден");
+        Assert.isTrue(friendshipGraph.findCommonFriends(userId, otherUserId).isEmpty(),
+                "Неподтверждённая дружба учтена");
+        Assert.isTrue(friendshipGraph.findFriends(userId).isEmpty(), "Заявка в друзья учтена как дружба");
+    }
+
+    @Test
+    @DisplayName("Изменения дружбы применяются к графу")
+    public void testIncrementalChanges() {
+        friendshipGraph.addFriend(userId, otherUser2Id);
+        friendshipGraph.addFriend(otherUserId, otherUser2Id);
+
+        Assert.isTrue(friendshipGraph.findCommonFriends(userId, otherUserId).equals(List.of(otherUser2Id)),
+                "Общий друг не найден");
+        Assert.isTrue(friendshipGraph.findStatus(otherUser2Id, userId).equals(Optional.of(FriendshipStatus.NOT_CONFIRMED)),
+                "Встречная заявка не добавлена");
+
+        friendshipGraph.addFriend(otherUser2Id, userId);
+        friendshipGraph.removeFriend(userId, otherUser2Id);
+
+        Assert.isTrue(friendshipGraph.findStatus(otherUser2Id, userId).equals(Optional.of(FriendshipStatus.CONFIRMED)),
+                "Заявка не подтверждена");
+        Assert.isTrue(friendshipGraph.findFriends(userId).isEmpty(), "Удалённый друг остался в графе");
+
+        friendshipGraph.removeUser(otherUser2Id);
+
+        Assert.isTrue(friendshipGraph.findCommonFriends(userId, otherUserId).isEmpty(),
+                "Удалённый пользователь остался в друзьях");
+        Assert.isTrue(friendshipGraph.findFriends(otherUserId).isEmpty(), "Удалённый пользователь остался в графе");
+    }
+
+    @Test
+    @DisplayName("Повторное добавление после удаления не дублирует встречную заявку")
+    public void testReAddAfterDelete() {
+        friendshipRepository.save(userId, otherUserId);
+        friendshipGraph.addFriend(userId, otherUserId);
+        friendshipRepository.delete(userId, otherUserId);
+        friendshipGraph.removeFriend(userId, otherUserId);
+
+        Assert.isTrue(friendshipRepository.save(userId, otherUserId), "Дружба не добавлена повторно");
+        friendshipGraph.addFriend(userId, otherUserId);
+        friendshipGraph.load();
+
+        Assert.isTrue(friendshipGraph.findFriends(userId).equals(List.of(otherUserId)), "Дружба не восстановлена");
+        Assert.isTrue(friendshipGraph.findStatus(otherUserId, userId).equals(Optional.of(FriendshipStatus.NOT_CONFIRMED)),
+                "Встречная заявка изменена");
+    }
+
+    @Test
+    @DisplayName("Удаление пользователя убирает входящие заявки")
+    public void testRemoveUserClearsIncomingEdges() {
+        friendshipRepository.save(userId, otherUserId);
+        friendshipRepository.delete(userId, otherUserId);
+        friendshipRepository.save(otherUser2Id, userId);
+        friendshipGraph.load();
+
+        Assert.isTrue(friendshipGraph.findStatus(userId, otherUserId).isEmpty(), "Удалённая дружба осталась в графе");
+        Assert.isTrue(friendshipGraph.findStatus(otherUserId, userId).equals(Optional.of(FriendshipStatus.NOT_CONFIRMED)),
+                "Встречная заявка не загружена");
+
+        friendshipGraph.addFriend(userId, otherUserId);
+        friendshipGraph.removeFriend(userId, otherUserId);
+
+        Assert.isTrue(friendshipGraph.findStatus(otherUserId, userId).equals(Optional.of(FriendshipStatus.NOT_CONFIRMED)),
+                "Встречная заявка удалена вместе с дружбой");
+
+        friendshipGraph.removeUser(userId);
+
+        Assert.isTrue(friendshipGraph.findStatus(otherUserId, userId).isEmpty(), "Входящая заявка осталась в графе");
+        Assert.isTrue(friendshipGraph.findStatus(otherUser2Id, userId).isEmpty(), "Входящая дружба осталась в графе");
+        Assert.isTrue(friendshipGraph.findFriends(otherUser2Id).isEmpty(), "Удалённый пользователь остался в друзьях");
+    }
+}
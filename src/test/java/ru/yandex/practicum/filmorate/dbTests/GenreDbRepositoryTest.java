@@ -17,16 +17,25 @@ import ru.yandex.practicum.filmorate.dal.db.genre.GenreDbRepository;
 import ru.yandex.practicum.filmorate.dal.db.genre.GenreRowMapper;
 import ru.yandex.practicum.filmorate.dal.db.mpa.MpaDbRepository;
 import ru.yandex.practicum.filmorate.dal.db.mpa.MpaRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dal.index.FilmSearchIndex;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
+import ru.yandex.practicum.filmorate.exception.NotFoundException;
 import ru.yandex.practicum.filmorate.model.Film;
 import ru.yandex.practicum.filmorate.model.Genre;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @JdbcTest
 @AutoConfigureTestDatabase
-@Import({FilmDbRepository.class, GenreDbRepository.class, MpaDbRepository.class, DirectorDbRepository.class,
-        FilmRelationLoader.class, FilmRowMapper.class, GenreRowMapper.class, MpaRowMapper.class, DirectorRowMapper.class})
+@Import({EntityCache.class, ReferenceDataDictionary.class, FilmDbRepository.class, GenreDbRepository.class,
+        MpaDbRepository.class, DirectorDbRepository.class, FilmSearchIndex.class, FilmRelationLoader.class,
+        FilmRowMapper.class, GenreRowMapper.class, MpaRowMapper.class, DirectorRowMapper.class})
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class GenreDbRepositoryTest {
     private final GenreDbRepository genreRepository;
@@ -59,11 +68,31 @@ public class GenreDbRepositoryTest {
         Assert.notEmpty(genres, "Список Genre фильм не вернулся");
     }
 
+    @Test
+    @DisplayName("Обновление жанров фильма применяет только разницу")
+    public void testUpdateFilmGenres() {
+        Long filmId = filmRepository.save(DataTest.TEST_FILM).getId();
 
+        genreRepository.updateFilmGenres(filmId, Set.of(genre(1L), genre(2L), genre(3L)));
 
+        Assert.isTrue(genreIds(filmId).equals(Set.of(1L, 2L, 3L)), "Жанры фильма не добавлены");
 
+        genreRepository.updateFilmGenres(filmId, Set.of(genre(3L), genre(4L)));
 
+        Assert.isTrue(genreIds(filmId).equals(Set.of(3L, 4L)), "Жанры фильма обновлены неверно");
+        assertThrows(NotFoundException.class,
+                () -> genreRepository.updateFilmGenres(filmId, Set.of(genre(4L), genre(99L))),
+                "Несуществующий жанр не отклонён");
+        Assert.isTrue(genreIds(filmId).equals(Set.of(3L, 4L)), "Жанры фильма изменены при ошибке");
+    }
 
+    private static Genre genre(Long id) {
+        return Genre.builder().id(id).build();
+    }
 
+    private Set<Long> genreIds(Long filmId) {
+        return genreRepository.findFilmGenre(filmId).stream()
+                .map(Genre::getId)
+                .collect(Collectors.toSet());
+    }
 }
-
@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.util.Assert;
 import ru.yandex.practicum.filmorate.dal.db.director.DirectorDbRepository;
 import ru.yandex.practicum.filmorate.dal.db.director.DirectorRowMapper;
@@ -21,21 +22,27 @@ import ru.yandex.practicum.filmorate.dal.db.mpa.MpaDbRepository;
 import ru.yandex.practicum.filmorate.dal.db.mpa.MpaRowMapper;
 import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
 import ru.yandex.practicum.filmorate.dal.db.user.UserRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dal.index.FilmSearchIndex;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
 import ru.yandex.practicum.filmorate.model.Film;
 import ru.yandex.practicum.filmorate.model.User;
 
 import java.util.List;
+import java.util.Map;
 
 @JdbcTest
 @AutoConfigureTestDatabase
-@Import({LikeDbRepository.class, FilmDbRepository.class, GenreDbRepository.class, MpaDbRepository.class,
-        DirectorDbRepository.class, FilmRowMapper.class, GenreRowMapper.class, MpaRowMapper.class,
-        DirectorRowMapper.class, UserDbRepository.class, UserRowMapper.class, FilmRelationLoader.class})
+@Import({EntityCache.class, ReferenceDataDictionary.class, LikeDbRepository.class, FilmDbRepository.class,
+        GenreDbRepository.class, MpaDbRepository.class, DirectorDbRepository.class, FilmSearchIndex.class,
+        FilmRowMapper.class, GenreRowMapper.class, MpaRowMapper.class, DirectorRowMapper.class, UserDbRepository.class,
+        UserRowMapper.class, FilmRelationLoader.class})
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class LikeDbRepositoryTest {
     private final LikeDbRepository likeRepository;
     private final FilmDbRepository filmRepository;
     private final UserDbRepository userRepository;
+    private final JdbcTemplate jdbc;
 
     private Long filmId;
     private Long otherFilmId;
@@ -87,5 +94,29 @@ public class LikeDbRepositoryTest {
 
         Assert.isTrue(popularFilms.size() == 1, "Count не соблюдается");
     }
-}
 
+    @Test
+    @DisplayName("Обновление счетчика лайков фильма в БД")
+    public void testLikesCount() {
+        Assert.isTrue(likeRepository.save(filmId, userId), "Лайк не сохранился");
+        Assert.isTrue(!likeRepository.save(filmId, userId), "Повторный лайк изменил данные");
+        likeRepository.save(filmId, otherUserId);
+        likeRepository.delete(filmId, otherUserId);
+        Assert.isTrue(!likeRepository.delete(filmId, otherUserId), "Повторное удаление лайка изменило данные");
+
+        Map<Long, Long> likesCount = likeRepository.findLikesCountByFilm();
+
+        Assert.isTrue(likesCount.get(filmId) == 1, "Счетчик лайков не обновился");
+        Assert.isTrue(likesCount.get(otherFilmId) == 0, "Счетчик лайков фильма без лайков не нулевой");
+    }
+
+    @Test
+    @DisplayName("Исправление расхождения счетчика лайков в БД")
+    public void testReconcileLikesCount() {
+        likeRepository.save(filmId, userId);
+        jdbc.update("UPDATE films SET likes_count = 5 WHERE id = ?", filmId);
+
+        Assert.isTrue(likeRepository.reconcileLikesCount() == 1, "Расхождение счетчика не найдено");
+        Assert.isTrue(likeRepository.findLikesCountByFilm().get(filmId) == 1, "Счетчик лайков не исправлен");
+    }
+}
@@ -0,0 +1,136 @@
+package ru.yandex.practicum.filmorate.dbTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.util.Assert;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRelationLoader;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.friendship.FriendshipDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.like.LikeDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.like.LikesCountReconciler;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.user.UserRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dal.index.FilmLikesLeaderboard;
+import ru.yandex.practicum.filmorate.dal.index.FilmSearchIndex;
+import ru.yandex.practicum.filmorate.dal.index.RecommendationEngine;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
+import ru.yandex.practicum.filmorate.dal.index.SetIntersectionIndex;
+import ru.yandex.practicum.filmorate.service.LikeWriteBehindBuffer;
+
+@JdbcTest
+@AutoConfigureTestDatabase
+@TestPropertySource(properties = {
+        "filmorate.likes.write-behind.enabled=true",
+        "filmorate.likes.write-behind.flush-interval-ms=600000",
+        "filmorate.likes.write-behind.batch-size=2"
+})
+@Import({EntityCache.class, ReferenceDataDictionary.class, LikeWriteBehindBuffer.class, FilmLikesLeaderboard.class,
+        RecommendationEngine.class, LikesCountReconciler.class, SetIntersectionIndex.class,
+        FriendshipDbRepository.class, LikeDbRepository.class, FilmDbRepository.class, GenreDbRepository.class,
+        MpaDbRepository.class, DirectorDbRepository.class, FilmSearchIndex.class, FilmRowMapper.class,
+        GenreRowMapper.class, MpaRowMapper.class, DirectorRowMapper.class, UserDbRepository.class, UserRowMapper.class,
+        FilmRelationLoader.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class LikeWriteBehindBufferTest {
+    private final LikeWriteBehindBuffer likeBuffer;
+    private final FilmLikesLeaderboard leaderboard;
+    private final LikeDbRepository likeRepository;
+    private final FilmDbRepository filmRepository;
+    private final UserDbRepository userRepository;
+
+    private Long filmId;
+    private Long userId;
+    private Long otherUserId;
+
+    @BeforeEach
+    void setUp() {
+        filmId = filmRepository.save(DataTest.TEST_FILM).getId();
+        userId = userRepository.save(DataTest.TEST_USER).getId();
+        otherUserId = userRepository.save(DataTest.OTHER_TEST_USER).getId();
+        leaderboard.load();
+    }
+
+    @Test
+    @DisplayName("Отложенная запись лайка в БД")
+    public void testSubmitAndFlush() {
+        Assert.isTrue(likeBuffer.submit(filmId, userId, true), "Лайк не принят в очередь");
+        Assert.isTrue(!likeBuffer.submit(filmId, userId, true), "Повторный лайк принят в очередь");
+        Assert.isTrue(leaderboard.getLikes(filmId) == 1, "Рейтинг не учитывает лайк из очереди");
+        Assert.isTrue(!likeRepository.exists(filmId, userId), "Лайк записан в БД до сброса очереди");
+
+        likeBuffer.flushUser(userId);
+
+        Assert.isTrue(likeRepository.exists(filmId, userId), "Лайк не записан в БД после сброса очереди");
+        Assert.isTrue(likeRepository.findLikesCountByFilm().get(filmId) == 1, "Счетчик лайков не обновился");
+    }
+
+    @Test
+    @DisplayName("Схлопывание лайка и его отмены в очереди")
+    public void testCoalesceLikeAndUnlike() {
+        likeBuffer.submit(filmId, userId, true);
+        likeBuffer.submit(filmId, userId, false);
+        likeBuffer.flush();
+
+        Assert.isTrue(!likeRepository.exists(filmId, userId), "Отмененный лайк записан в БД");
+        Assert.isTrue(leaderboard.getLikes(filmId) == 0, "Рейтинг не вернулся к исходному значению");
+    }
+
+    @Test
+    @DisplayName("Откат рейтинга при отклонении лайка БД")
+    public void testRejectedChange() {
+        likeBuffer.submit(filmId, -1L, true);
+        Assert.isTrue(leaderboard.getLikes(filmId) == 1, "Рейтинг не учитывает лайк из очереди");
+
+        likeBuffer.flush();
+
+        Assert.isTrue(leaderboard.getLikes(filmId) == 0, "Рейтинг не откатился после отклонения лайка");
+    }
+
+    @Test
+    @DisplayName("Откат отклонённого лайка не возвращает удалённый фильм в рейтинг")
+    public void testRejectedChangeForRemovedFilm() {
+        likeBuffer.submit(filmId, -1L, true);
+        leaderboard.removeFilm(filmId);
+
+        likeBuffer.flush();
+
+        Assert.isTrue(!leaderboard.findAll().contains(filmId), "Удалённый фильм вернулся в рейтинг");
+    }
+
+    @Test
+    @DisplayName("Повторный лайк после сброса очереди не учитывается")
+    public void testRepeatedLikeAfterFlush() {
+        likeBuffer.submit(filmId, userId, true);
+        likeBuffer.flush();
+
+        Assert.isTrue(!likeBuffer.submit(filmId, userId, true), "Повторный лайк принят в очередь");
+        Assert.isTrue(leaderboard.getLikes(filmId) == 1, "Повторный лайк учтен в рейтинге");
+    }
+
+    @Test
+    @DisplayName("Синхронная запись пакета после остановки потока сброса")
+    public void testFlushAfterStop() throws InterruptedException {
+        likeBuffer.stop();
+
+        likeBuffer.submit(filmId, userId, true);
+        likeBuffer.submit(filmId, otherUserId, true);
+
+        Assert.isTrue(likeRepository.exists(filmId, userId), "Лайк не записан в БД после остановки потока");
+        Assert.isTrue(likeRepository.exists(filmId, otherUserId), "Лайк не записан в БД после остановки потока");
+    }
+}
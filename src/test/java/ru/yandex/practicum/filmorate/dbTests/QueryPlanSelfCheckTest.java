@@ -0,0 +1,71 @@
+package ru.yandex.practicum.filmorate.dbTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.util.Assert;
+import ru.yandex.practicum.filmorate.dal.db.base.QueryPlanSelfCheck;
+import ru.yandex.practicum.filmorate.dal.db.base.QueryPlanSelfCheck.QueryPlan;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.event.EventDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.event.EventRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmDbSearcher;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRelationLoader;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.friendship.FriendshipDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.like.LikeDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.review.ReviewDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.review.ReviewRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.user.UserRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dal.index.FilmSearchIndex;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
+
+import java.util.List;
+
+@JdbcTest
+@AutoConfigureTestDatabase
+@Import({QueryPlanSelfCheck.class, EntityCache.class, ReferenceDataDictionary.class, FilmSearchIndex.class,
+        FilmDbRepository.class, FilmDbSearcher.class, FilmRelationLoader.class, GenreDbRepository.class,
+        MpaDbRepository.class, DirectorDbRepository.class, UserDbRepository.class, FriendshipDbRepository.class,
+        LikeDbRepository.class, EventDbRepository.class, ReviewDbRepository.class, FilmRowMapper.class,
+        GenreRowMapper.class, MpaRowMapper.class, DirectorRowMapper.class, UserRowMapper.class,
+        EventRowMapper.class, ReviewRowMapper.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class QueryPlanSelfCheckTest {
+    private final QueryPlanSelfCheck queryPlanSelfCheck;
+
+    @Test
+    @DisplayName("Запросы репозиториев с условием используют индексы")
+    public void testFilteredQueriesUseIndexes() {
+        List<QueryPlan> plans = queryPlanSelfCheck.check();
+
+        Assert.isTrue(plans.stream().noneMatch(QueryPlan::isSuspicious), "Найден полный просмотр таблицы по условию");
+        Assert.isTrue(plan(plans, "UserDbRepository.FIND_ALL_USERS_QUERY").isTableScan(),
+                "Полный просмотр таблицы не распознан");
+        Assert.isTrue(plan(plans, "LikeDbRepository.FIND_USER_LIKES_QUERY").plan().contains("FILMS_LIKES_USER_ID_IDX"),
+                "Лайки пользователя читаются не по индексу");
+        Assert.isTrue(plan(plans, "LikeDbRepository.FIND_POPULAR_FILMS_QUERY").plan().contains("FILMS_LIKES_COUNT_IDX"),
+                "Популярные фильмы сортируются не по индексу");
+        Assert.isTrue(plan(plans, "FilmDbSearcher.SORT_FILMS_BY_LIKES_QUERY").plan()
+                .contains("FILM_DIRECTORS_DIRECTOR_ID_IDX"), "Фильмы режиссера читаются не по индексу");
+    }
+
+    private static QueryPlan plan(List<QueryPlan> plans, String source) {
+        return plans.stream()
+                .filter(plan -> plan.source().equals(source))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,170 @@
+package ru.yandex.practicum.filmorate.dbTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.util.Assert;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRelationLoader;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.like.LikeDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.user.UserRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dal.index.FilmSearchIndex;
+import ru.yandex.practicum.filmorate.dal.index.RecommendationEngine;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
+
+import java.util.List;
+
+@JdbcTest
+@AutoConfigureTestDatabase
+@Import({EntityCache.class, ReferenceDataDictionary.class, RecommendationEngine.class, LikeDbRepository.class,
+        FilmDbRepository.class, GenreDbRepository.class, MpaDbRepository.class, DirectorDbRepository.class,
+        FilmSearchIndex.class, FilmRowMapper.class, GenreRowMapper.class, MpaRowMapper.class, DirectorRowMapper.class,
+        UserDbRepository.class, UserRowMapper.class, FilmRelationLoader.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class RecommendationEngineTest {
+    private final RecommendationEngine recommendationEngine;
+    private final LikeDbRepository likeRepository;
+    private final FilmDbRepository filmRepository;
+    private final UserDbRepository userRepository;
+
+    private Long filmId;
+    private Long otherFilmId;
+    private Long thirdFilmId;
+    private Long userId;
+    private Long otherUserId;
+    private Long thirdUserId;
+
+    @BeforeEach
+    void setUp() {
+        filmId = filmRepository.save(DataTest.TEST_FILM).getId();
+        otherFilmId = filmRepository.save(DataTest.OTHER_TEST_FILM).getId();
+        thirdFilmId = filmRepository.save(DataTest.TEST_FILM).getId();
+        userId = userRepository.save(DataTest.TEST_USER).getId();
+        otherUserId = userRepository.save(DataTest.OTHER_TEST_USER).getId();
+        thirdUserId = userRepository.save(DataTest.OTHER_TEST_USER_2).getId();
+    }
+
+    @Test
+    @DisplayName("Рекомендации фильмов по лайкам похожего пользователя")
+    public void testRecommendFromLoadedLikes() {
+        likeRepository.save(filmId, userId);
+        likeRepository.save(filmId, otherUserId);
+        likeRepository.save(otherFilmId, otherUserId);
+        recommendationEngine.load();
+
+        List<Long> recommendations = recommendationEngine.recommend(userId, 10);
+
+        Assert.isTrue(recommendations.equals(List.of(otherFilmId)), "Порекомендован не тот фильм");
+    }
+
+    @Test
+    @DisplayName("Смешивание рекомендаций соседей и пересчет при изменении лайков")
+    public void testBlendAndIncrementalUpdate() {
+        recommendationEngine.load();
+        recommendationEngine.changeLike(filmId, userId, true);
+        recommendationEngine.changeLike(otherFilmId, userId, true);
+        recommendationEngine.changeLike(filmId, otherUserId, true);
+        recommendationEngine.changeLike(otherFilmId, otherUserId, true);
+        recommendationEngine.changeLike(thirdFilmId, otherUserId, true);
+        recommendationEngine.changeLike(filmId, thirdUserId, true);
+
+        Assert.isTrue(recommendationEngine.recommend(thirdUserId, 10).equals(List.of(otherFilmId, thirdFilmId)),
+                "Неверный порядок рекомендаций нескольких соседей");
+        Assert.isTrue(recommendationEngine.recommend(thirdUserId, 1).equals(List.of(otherFilmId)),
+                "Не применено ограничение количества рекомендаций");
+
+        recommendationEngine.changeLike(thirdFilmId, userId, true);
+        Assert.isTrue(recommendationEngine.recommend(userId, 10).isEmpty(), "Рекомендован уже оцененный фильм");
+
+        recommendationEngine.changeLike(filmId, thirdUserId, false);
+        Assert.isTrue(recommendationEngine.recommend(thirdUserId, 10).isEmpty(), "Рекомендации без общих лайков");
+
+        recommendationEngine.removeFilm(otherFilmId);
+        recommendationEngine.removeUser(otherUserId);
+        Assert.isTrue(recommendationEngine.recommend(userId, 10).isEmpty(), "Рекомендации от удаленного пользователя");
+    }
+
+    @Test
+    @DisplayName("Инкрементально обновленные соседи совпадают с пересчитанными с нуля")
+    public void testIncrementalUpdateMatchesReload() {
+        recommendationEngine.load();
+        List<Long> users = List.of(userId, otherUserId, thirdUserId);
+        users.forEach(user -> recommendationEngine.recommend(user, Integer.MAX_VALUE));
+
+        like(filmId, userId);
+        like(filmId, otherUserId);
+        like(otherFilmId, otherUserId);
+        like(otherFilmId, thirdUserId);
+        like(thirdFilmId, thirdUserId);
+        like(thirdFilmId, userId);
+        unlike(filmId, otherUserId);
+        like(otherFilmId, userId);
+
+        List<List<Long>> incremental = users.stream()
+                .map(user -> recommendationEngine.recommend(user, Integer.MAX_VALUE))
+                .toList();
+        recommendationEngine.load();
+        List<List<Long>> reloaded = users.stream()
+                .map(user -> recommendationEngine.recommend(user, Integer.MAX_VALUE))
+                .toList();
+
+        Assert.isTrue(incremental.equals(reloaded), "Инкрементальные рекомендации расходятся с пересчитанными");
+    }
+
+    @Test
+    @DisplayName("Соседи с малым запасом кандидатов совпадают с пересчитанными с нуля")
+    public void testSmallReserveMatchesReload() {
+        RecommendationEngine engine = new RecommendationEngine(likeRepository, 1, 1);
+        engine.load();
+        List<Long> users = List.of(userId, otherUserId, thirdUserId);
+        users.forEach(user -> engine.recommend(user, Integer.MAX_VALUE));
+
+        List<List<Long>> changes = List.of(
+                List.of(filmId, userId, 1L), List.of(filmId, otherUserId, 1L), List.of(filmId, thirdUserId, 1L),
+                List.of(otherFilmId, otherUserId, 1L), List.of(thirdFilmId, thirdUserId, 1L),
+                List.of(otherFilmId, userId, 1L), List.of(filmId, otherUserId, 0L),
+                List.of(thirdFilmId, userId, 1L), List.of(otherFilmId, userId, 0L));
+
+        for (List<Long> change : changes) {
+            boolean liked = change.get(2) == 1L;
+            if (liked) {
+                likeRepository.save(change.get(0), change.get(1));
+            } else {
+                likeRepository.delete(change.get(0), change.get(1));
+            }
+            engine.changeLike(change.get(0), change.get(1), liked);
+
+            RecommendationEngine reloaded = new RecommendationEngine(likeRepository, 1, 1);
+            reloaded.load();
+            for (Long user : users) {
+                Assert.isTrue(engine.recommend(user, Integer.MAX_VALUE)
+                                .equals(reloaded.recommend(user, Integer.MAX_VALUE)),
+                        "Инкрементальные рекомендации расходятся с пересчитанными");
+            }
+        }
+    }
+
+    private void like(Long film, Long user) {
+        likeRepository.save(film, user);
+        recommendationEngine.changeLike(film, user, true);
+    }
+
+    private void unlike(Long film, Long user) {
+        likeRepository.delete(film, user);
+        recommendationEngine.changeLike(film, user, false);
+    }
+}
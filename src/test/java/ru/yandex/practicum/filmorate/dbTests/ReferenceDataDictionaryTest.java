@@ -0,0 +1,58 @@
+package ru.yandex.practicum.filmorate.dbTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.Assert;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
+import ru.yandex.practicum.filmorate.enums.FriendshipStatus;
+import ru.yandex.practicum.filmorate.enums.GenreName;
+import ru.yandex.practicum.filmorate.enums.MpaName;
+
+@JdbcTest
+@AutoConfigureTestDatabase
+@Import({ReferenceDataDictionary.class, GenreRowMapper.class, MpaRowMapper.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ReferenceDataDictionaryTest {
+    private final ReferenceDataDictionary dictionary;
+    private final JdbcTemplate jdbc;
+
+    @Test
+    @DisplayName("Справочники загружены из БД")
+    public void testLoadedFromDatabase() {
+        Assert.isTrue(dictionary.findAllMpa().size() == 5, "Загружены не все MPA");
+        Assert.isTrue(dictionary.findAllGenres().size() == 6, "Загружены не все жанры");
+        Assert.isTrue(dictionary.findMpa(3L).orElseThrow().getName() == MpaName.PG_13, "MPA найден неверно");
+        Assert.isTrue(dictionary.findGenre(1L).orElseThrow().getName() == GenreName.COMEDY, "Жанр найден неверно");
+        Assert.isTrue(dictionary.findFriendshipStatusId(FriendshipStatus.CONFIRMED).isPresent(),
+                "Статус дружбы не найден");
+    }
+
+    @Test
+    @DisplayName("Несуществующие идентификаторы не найдены")
+    public void testUnknownIds() {
+        Assert.isTrue(dictionary.findMpa(99L).isEmpty(), "Найден несуществующий MPA");
+        Assert.isTrue(dictionary.findGenre(-1L).isEmpty(), "Найден жанр с отрицательным id");
+        Assert.isTrue(dictionary.findGenre(null).isEmpty(), "Найден жанр без id");
+    }
+
+    @Test
+    @DisplayName("Сброс справочников перечитывает БД")
+    public void testInvalidate() {
+        jdbc.update("DELETE FROM genres WHERE id = 6");
+        dictionary.invalidate();
+
+        Assert.isTrue(dictionary.findGenre(6L).isEmpty(), "Удаленный жанр остался в справочнике");
+        Assert.isTrue(dictionary.findAllGenres().size() == 5, "Справочник жанров не перечитан");
+
+        jdbc.update("INSERT INTO genres (id, name) VALUES (6, 'ACTION')");
+        dictionary.invalidate();
+    }
+}
@@ -0,0 +1,85 @@
+package ru.yandex.practicum.filmorate.dbTests;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.util.Assert;
+import ru.yandex.practicum.filmorate.dal.db.base.RepositoryMetrics;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRelationLoader;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.user.UserRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dal.index.FilmSearchIndex;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
+import ru.yandex.practicum.filmorate.model.User;
+
+@JdbcTest
+@AutoConfigureTestDatabase
+@Import({SimpleMeterRegistry.class, EntityCache.class, ReferenceDataDictionary.class, FilmSearchIndex.class,
+        FilmDbRepository.class, FilmRelationLoader.class, GenreDbRepository.class, MpaDbRepository.class,
+        DirectorDbRepository.class, FilmRowMapper.class, GenreRowMapper.class, MpaRowMapper.class,
+        DirectorRowMapper.class, UserDbRepository.class, UserRowMapper.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class RepositoryMetricsTest {
+    private final MeterRegistry registry;
+    private final UserDbRepository userRepository;
+    private final FilmDbRepository filmRepository;
+    private final FilmRelationLoader filmRelationLoader;
+
+    @Test
+    @DisplayName("Запросы репозитория измеряются с именем SQL-константы")
+    public void testQueriesAreTimedByConstantName() {
+        User user = userRepository.save(DataTest.TEST_USER);
+        userRepository.findAll();
+        userRepository.delete(user.getId());
+
+        Assert.isTrue(timer("UserDbRepository", "insert", "INSERT_USER_QUERY").count() == 1,
+                "Вставка пользователя не измерена");
+        Assert.isTrue(timer("UserDbRepository", "find_one", "FIND_ONE_USER_QUERY").count() == 1,
+                "Чтение пользователя не измерено");
+        Assert.isTrue(timer("UserDbRepository", "find_many", "FIND_ALL_USERS_QUERY").count() == 1,
+                "Чтение всех пользователей не измерено");
+        Assert.isTrue(timer("UserDbRepository", "delete", "DELETE_USER_QUERY").count() == 1,
+                "Удаление пользователя не измерено");
+    }
+
+    @Test
+    @DisplayName("Число загруженных фильмов со связями попадает в гистограмму")
+    public void testFilmsWithRelationsRowsAreRecorded() {
+        filmRepository.save(DataTest.TEST_FILM);
+        filmRepository.save(DataTest.OTHER_TEST_FILM);
+
+        filmRelationLoader.findAllWithRelationsOrderedById();
+
+        DistributionSummary rows = registry.get(RepositoryMetrics.ROWS_SUMMARY)
+                .tag("repository", "FilmRelationLoader")
+                .tag("operation", "findFilmsWithRelations")
+                .summary();
+        Assert.isTrue(rows.count() == 1, "Загрузка фильмов со связями не измерена");
+        Assert.isTrue(rows.totalAmount() == 2, "Неверное число загруженных фильмов");
+    }
+
+    private Timer timer(String repository, String operation, String query) {
+        return registry.get(RepositoryMetrics.QUERY_TIMER)
+                .tag("repository", repository)
+                .tag("operation", operation)
+                .tag("query", query)
+                .timer();
+    }
+}
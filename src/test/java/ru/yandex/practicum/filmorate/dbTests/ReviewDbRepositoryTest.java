@@ -0,0 +1,101 @@
+package ru.yandex.practicum.filmorate.dbTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.util.Assert;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRelationLoader;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.review.ReviewDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.review.ReviewRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.user.UserRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dal.index.FilmSearchIndex;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
+import ru.yandex.practicum.filmorate.model.Review;
+
+@JdbcTest
+@AutoConfigureTestDatabase
+@Import({EntityCache.class, ReferenceDataDictionary.class, ReviewDbRepository.class, ReviewRowMapper.class,
+        FilmDbRepository.class, GenreDbRepository.class, MpaDbRepository.class, DirectorDbRepository.class,
+        FilmSearchIndex.class, FilmRowMapper.class, GenreRowMapper.class, MpaRowMapper.class, DirectorRowMapper.class,
+        UserDbRepository.class, UserRowMapper.class, FilmRelationLoader.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ReviewDbRepositoryTest {
+    private final ReviewDbRepository reviewRepository;
+    private final FilmDbRepository filmRepository;
+    private final UserDbRepository userRepository;
+
+    private Long reviewId;
+    private Long userId;
+    private Long otherUserId;
+
+    @BeforeEach
+    void setUp() {
+        Long filmId = filmRepository.save(DataTest.TEST_FILM).getId();
+        userId = userRepository.save(DataTest.TEST_USER).getId();
+        otherUserId = userRepository.save(DataTest.OTHER_TEST_USER).getId();
+
+        Review review = Review.builder()
+                .content("Отличный фильм")
+                .isPositive(true)
+                .userId(userId)
+                .filmId(filmId)
+                .build();
+        reviewId = reviewRepository.save(review).getReviewId();
+    }
+
+    @Test
+    @DisplayName("Повторный лайк отзыва не меняет полезность")
+    public void testRepeatedLike() {
+        reviewRepository.addLike(reviewId, userId);
+        reviewRepository.addLike(reviewId, userId);
+        reviewRepository.addLike(reviewId, otherUserId);
+
+        Assert.isTrue(useful() == 2, "Полезность отзыва посчитана неверно");
+    }
+
+    @Test
+    @DisplayName("Замена лайка на дизлайк меняет полезность на 2")
+    public void testSwitchLikeToDislike() {
+        reviewRepository.addLike(reviewId, userId);
+        reviewRepository.addDislike(reviewId, userId);
+
+        Assert.isTrue(useful() == -1, "Замена оценки учтена неверно");
+
+        reviewRepository.addLike(reviewId, userId);
+
+        Assert.isTrue(useful() == 1, "Обратная замена оценки учтена неверно");
+    }
+
+    @Test
+    @DisplayName("Удаление оценки отзыва")
+    public void testRemoveVote() {
+        reviewRepository.addDislike(reviewId, userId);
+        reviewRepository.removeLike(reviewId, userId);
+
+        Assert.isTrue(useful() == -1, "Удален дизлайк при удалении лайка");
+
+        reviewRepository.removeDislike(reviewId, userId);
+        reviewRepository.removeDislike(reviewId, userId);
+
+        Assert.isTrue(useful() == 0, "Дизлайк удален неверно");
+    }
+
+    private int useful() {
+        return reviewRepository.getById(reviewId).orElseThrow().getUseful();
+    }
+}
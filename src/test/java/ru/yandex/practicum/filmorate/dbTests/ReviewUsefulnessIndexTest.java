@@ -0,0 +1,137 @@
+package ru.yandex.practicum.filmorate.dbTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.util.Assert;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRelationLoader;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.review.ReviewDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.review.ReviewRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.user.UserRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dal.index.FilmSearchIndex;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
+import ru.yandex.practicum.filmorate.dal.index.ReviewUsefulnessIndex;
+import ru.yandex.practicum.filmorate.model.Review;
+
+import java.util.List;
+
+@JdbcTest
+@AutoConfigureTestDatabase
+@Import({EntityCache.class, ReferenceDataDictionary.class, ReviewUsefulnessIndex.class, ReviewDbRepository.class,
+        ReviewRowMapper.class, FilmDbRepository.class, GenreDbRepository.class, MpaDbRepository.class,
+        DirectorDbRepository.class, FilmSearchIndex.class, FilmRowMapper.class, GenreRowMapper.class,
+        MpaRowMapper.class, DirectorRowMapper.class, UserDbRepository.class, UserRowMapper.class,
+        FilmRelationLoader.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ReviewUsefulnessIndexTest {
+    private final ReviewUsefulnessIndex usefulnessIndex;
+    private final ReviewDbRepository reviewRepository;
+    private final FilmDbRepository filmRepository;
+    private final UserDbRepository userRepository;
+
+    private Long filmId;
+    private Long otherFilmId;
+    private Long userId;
+    private Long otherUserId;
+
+    @BeforeEach
+    void setUp() {
+        filmId = filmRepository.save(DataTest.TEST_FILM).getId();
+        otherFilmId = filmRepository.save(DataTest.OTHER_TEST_FILM).getId();
+        userId = userRepository.save(DataTest.TEST_USER).getId();
+        otherUserId = userRepository.save(DataTest.OTHER_TEST_USER).getId();
+        usefulnessIndex.load();
+    }
+
+    @Test
+    @DisplayName("Загрузка рейтинга отзывов из БД")
+    public void testLoadFromDatabase() {
+        Long firstId = saveReview(filmId);
+        Long secondId = saveReview(filmId);
+        Long otherFilmReviewId = saveReview(otherFilmId);
+        reviewRepository.addLike(secondId, userId);
+        reviewRepository.addDislike(otherFilmReviewId, userId);
+        usefulnessIndex.load();
+
+        Assert.isTrue(reviewIds(usefulnessIndex.findTopByFilm(filmId, 10)).equals(List.of(secondId, firstId)),
+                "Рейтинг отзывов фильма загружен неверно");
+        Assert.isTrue(reviewIds(usefulnessIndex.findTop(10)).equals(List.of(secondId, firstId, otherFilmReviewId)),
+                "Общий рейтинг отзывов загружен неверно");
+        Assert.isTrue(usefulnessIndex.findTop(10).getFirst().getUseful() == 1, "Полезность отзыва загружена неверно");
+    }
+
+    @Test
+    @DisplayName("Изменения отзывов и оценок применяются к рейтингу")
+    public void testIncrementalChanges() {
+        Long firstId = putReview(filmId);
+        Long secondId = putReview(filmId);
+
+        usefulnessIndex.changeUseful(secondId, reviewRepository.addLike(secondId, userId));
+        usefulnessIndex.changeUseful(secondId, reviewRepository.addLike(secondId, userId));
+        usefulnessIndex.changeUseful(firstId, reviewRepository.addLike(firstId, userId));
+        usefulnessIndex.changeUseful(firstId, reviewRepository.addLike(firstId, otherUserId));
+
+        Assert.isTrue(reviewIds(usefulnessIndex.findTopByFilm(filmId, 1)).equals(List.of(firstId)),
+                "Рейтинг не учитывает оценки");
+
+        usefulnessIndex.removeReview(firstId);
+
+        Assert.isTrue(reviewIds(usefulnessIndex.findTopByFilm(filmId, 10)).equals(List.of(secondId)),
+                "Удаленный отзыв остался в рейтинге");
+        Assert.isTrue(usefulnessIndex.findTopByFilm(otherFilmId, 10).isEmpty(),
+                "Рейтинг фильма без отзывов не пуст");
+    }
+
+    @Test
+    @DisplayName("Обновление отзыва не теряет оценку, примененную после чтения")
+    public void testUpdateKeepsConcurrentVote() {
+        Long reviewId = putReview(filmId);
+        Review read = reviewRepository.getById(reviewId).orElseThrow();
+
+        usefulnessIndex.changeUseful(reviewId, reviewRepository.addLike(reviewId, userId));
+        usefulnessIndex.updateReview(read.toBuilder().content("Новый текст").isPositive(false).build());
+
+        Review indexed = usefulnessIndex.findTopByFilm(filmId, 1).getFirst();
+        Assert.isTrue(indexed.getUseful() == 1, "Оценка потеряна при обновлении отзыва");
+        Assert.isTrue(indexed.getContent().equals("Новый текст") && !indexed.getIsPositive(),
+                "Содержимое отзыва не обновлено");
+    }
+
+    private Long saveReview(Long reviewFilmId) {
+        Review review = Review.builder()
+                .content("Отзыв")
+                .isPositive(true)
+                .userId(userId)
+                .filmId(reviewFilmId)
+                .build();
+
+        return reviewRepository.save(review).getReviewId();
+    }
+
+    private Long putReview(Long reviewFilmId) {
+        Long reviewId = saveReview(reviewFilmId);
+        usefulnessIndex.putReview(reviewRepository.getById(reviewId).orElseThrow());
+        return reviewId;
+    }
+
+    private List<Long> reviewIds(List<Review> reviews) {
+        return reviews.stream()
+                .map(Review::getReviewId)
+                .toList();
+    }
+}
@@ -0,0 +1,91 @@
+package ru.yandex.practicum.filmorate.dbTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.util.Assert;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.director.DirectorRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRelationLoader;
+import ru.yandex.practicum.filmorate.dal.db.film.FilmRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.genre.GenreRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.like.LikeDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.mpa.MpaRowMapper;
+import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
+import ru.yandex.practicum.filmorate.dal.db.user.UserRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
+import ru.yandex.practicum.filmorate.dal.index.FilmSearchIndex;
+import ru.yandex.practicum.filmorate.dal.index.ReferenceDataDictionary;
+import ru.yandex.practicum.filmorate.dal.index.SetIntersectionIndex;
+
+import java.util.List;
+
+@JdbcTest
+@AutoConfigureTestDatabase
+@Import({EntityCache.class, ReferenceDataDictionary.class, SetIntersectionIndex.class, LikeDbRepository.class,
+        FilmDbRepository.class, GenreDbRepository.class, MpaDbRepository.class, DirectorDbRepository.class,
+        FilmSearchIndex.class, FilmRowMapper.class, GenreRowMapper.class, MpaRowMapper.class, DirectorRowMapper.class,
+        UserDbRepository.class, UserRowMapper.class, FilmRelationLoader.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class SetIntersectionIndexTest {
+    private final SetIntersectionIndex intersectionIndex;
+    private final LikeDbRepository likeRepository;
+    private final FilmDbRepository filmRepository;
+    private final UserDbRepository userRepository;
+
+    private Long filmId;
+    private Long otherFilmId;
+    private Long userId;
+    private Long otherUserId;
+    private Long otherUser2Id;
+
+    @BeforeEach
+    void setUp() {
+        filmId = filmRepository.save(DataTest.TEST_FILM).getId();
+        otherFilmId = filmRepository.save(DataTest.OTHER_TEST_FILM).getId();
+        userId = userRepository.save(DataTest.TEST_USER).getId();
+        otherUserId = userRepository.save(DataTest.OTHER_TEST_USER).getId();
+        otherUser2Id = userRepository.save(DataTest.OTHER_TEST_USER_2).getId();
+        intersectionIndex.load();
+    }
+
+    @Test
+    @DisplayName("Загрузка общих лайков из БД")
+    public void testLoadFromDatabase() {
+        likeRepository.save(filmId, userId);
+        likeRepository.save(filmId, otherUserId);
+        likeRepository.save(otherFilmId, userId);
+        intersectionIndex.load();
+
+        Assert.isTrue(intersectionIndex.findCommonFilms(userId, otherUserId).equals(List.of(filmId)),
+                "Общие фильмы загружены неверно");
+    }
+
+    @Test
+    @DisplayName("Изменения лайков применяются к индексу")
+    public void testIncrementalChanges() {
+        intersectionIndex.changeLike(filmId, userId, true);
+        intersectionIndex.changeLike(filmId, otherUserId, true);
+        intersectionIndex.changeLike(otherFilmId, otherUserId, true);
+        intersectionIndex.changeLike(otherFilmId, otherUser2Id, true);
+
+        Assert.isTrue(intersectionIndex.findCommonFilms(userId, otherUserId).equals(List.of(filmId)),
+                "Общий фильм не найден");
+
+        intersectionIndex.changeLike(filmId, userId, false);
+        intersectionIndex.removeUser(otherUser2Id);
+
+        Assert.isTrue(intersectionIndex.findCommonFilms(userId, otherUserId).isEmpty(),
+                "Удалённый лайк остался в индексе");
+        Assert.isTrue(intersectionIndex.findCommonFilms(otherUserId, otherUser2Id).isEmpty(),
+                "Удалённый пользователь остался в индексе");
+    }
+}
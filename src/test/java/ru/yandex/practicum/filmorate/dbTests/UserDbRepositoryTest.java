@@ -11,6 +11,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.util.Assert;
 import ru.yandex.practicum.filmorate.dal.db.user.UserDbRepository;
 import ru.yandex.practicum.filmorate.dal.db.user.UserRowMapper;
+import ru.yandex.practicum.filmorate.dal.index.EntityCache;
 import ru.yandex.practicum.filmorate.model.User;
 
 import java.time.LocalDate;
@@ -20,7 +21,7 @@ import java.util.Optional;
 
 @JdbcTest
 @AutoConfigureTestDatabase
-@Import({UserDbRepository.class, UserRowMapper.class})
+@Import({EntityCache.class, UserDbRepository.class, UserRowMapper.class})
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class UserDbRepositoryTest {
     private final UserDbRepository userRepository;
@@ -88,4 +89,18 @@ public class UserDbRepositoryTest {
 
         Assert.isTrue(userOptional.isPresent(), "Пользователь не вернулся");
     }
+
+    @Test
+    @DisplayName("Постраничная и потоковая выдача пользователей по ключу")
+    public void testFindPageAndStream() {
+        Long otherUserId = userRepository.save(DataTest.OTHER_TEST_USER).getId();
+
+        List<User> firstPage = userRepository.findPage(0, 1);
+        List<User> secondPage = userRepository.findPage(userId, 10);
+        List<Long> streamed = userRepository.streamAll(0, Integer.MAX_VALUE).map(User::getId).toList();
+
+        Assert.isTrue(firstPage.size() == 1 && firstPage.getFirst().getId().equals(userId), "Неверная первая страница");
+        Assert.isTrue(secondPage.size() == 1 && secondPage.getFirst().getId().equals(otherUserId), "Неверная вторая страница");
+        Assert.isTrue(streamed.equals(List.of(userId, otherUserId)), "Неверная потоковая выдача");
+    }
 }
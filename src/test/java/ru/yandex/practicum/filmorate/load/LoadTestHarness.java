@@ -0,0 +1,285 @@
+package ru.yandex.practicum.filmorate.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import ru.yandex.practicum.filmorate.FilmorateApplication;
+import ru.yandex.practicum.filmorate.benchmark.SyntheticDataSet;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+public final class LoadTestHarness {
+    private static final String TOTAL = "*";
+    private static final String DB_USER = "sa";
+    private static final String DB_PASSWORD = "password";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int ASYNC_CLIENT_THREADS = 2;
+
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final HttpClient client;
+    private final ScheduledExecutorService asyncClientExecutor;
+
+    private LoadTestHarness(LoadTestOptions options) {
+        this.options = options;
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT);
+        switch (options.clientThreads()) {
+            case VIRTUAL -> builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+            case ASYNC -> builder.executor(Executors.newFixedThreadPool(ASYNC_CLIENT_THREADS,
+                    Thread.ofPlatform().name("load-http-", 0).daemon(true).factory()));
+            default -> {
+            }
+        }
+        this.client = builder.build();
+        this.asyncClientExecutor = options.clientThreads() == LoadTestOptions.ClientThreads.ASYNC
+                ? Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("load-async").daemon(true)
+                        .factory())
+                : null;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestHarness(LoadTestOptions.parse(args)).run();
+    }
+
+    private void run() throws Exception {
+        SyntheticDataSet dataSet = prepareDatabase();
+        Workload workload = Workload.load(options.scenario(), objectMapper, dataSet, options.zipfExponent());
+        workload.requests().forEach(request -> stats.computeIfAbsent(request.name(), EndpointStats::new));
+        stats.put(TOTAL, new EndpointStats(TOTAL));
+
+        try (ConfigurableApplicationContext context = startApplication()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            System.out.printf("Сценарий %s: %d клиентов (%s), %s, прогрев %d с, замер %d с, порт %d%n",
+                    options.scenario(), options.threads(), options.clientThreads().name().toLowerCase(Locale.ROOT),
+                    options.rate() > 0 ? options.rate() + " запросов/с" : "замкнутый цикл",
+                    options.warmup().toSeconds(), options.duration().toSeconds(), port);
+
+            generateLoad(workload, "http://localhost:" + port);
+            report();
+        }
+    }
+
+    private SyntheticDataSet prepareDatabase() throws IOException {
+        Path directory = options.database().getParent();
+        Files.createDirectories(directory);
+        String prefix = options.database().getFileName().toString() + ".";
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(file -> file.getFileName().toString().startsWith(prefix)).toList()) {
+                Files.delete(file);
+            }
+        }
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(databaseUrl(), DB_USER, DB_PASSWORD);
+        Flyway.configure()
+                .dataSource(dataSource)
+                .load()
+                .migrate();
+        SyntheticDataSet dataSet = new SyntheticDataSet(options.films(), options.users(), options.likesPerUser(),
+                options.friendsPerUser(), options.reviewsPerFilm(), options.zipfExponent(), options.seed());
+        dataSet.load(new JdbcTemplate(dataSource));
+        return dataSet;
+    }
+
+    private ConfigurableApplicationContext startApplication() {
+        List<String> args = new ArrayList<>(options.applicationArgs());
+        boolean production = args.stream()
+                .anyMatch(arg -> arg.startsWith("--spring.profiles.active=") && arg.contains("production"));
+        if (production) {
+            addDefault(args, "filmorate.datasource.path", options.database().toString());
+        } else {
+            addDefault(args, "spring.datasource.url", databaseUrl());
+        }
+        addDefault(args, "spring.datasource.username", DB_USER);
+        addDefault(args, "spring.datasource.password", DB_PASSWORD);
+        addDefault(args, "server.port", "0");
+        addDefault(args, "server.tomcat.accept-count", String.valueOf(Math.max(100, options.threads())));
+        addDefault(args, "spring.main.banner-mode", "off");
+        addDefault(args, "filmorate.sql.plan-check.enabled", "false");
+        addDefault(args, "logging.level.root", "WARN");
+
+        return new SpringApplicationBuilder(FilmorateApplication.class)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+    }
+
+    private void generateLoad(Workload workload, String baseUrl) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        CountDownLatch finished = new CountDownLatch(options.threads());
+
+        for (int worker = 0; worker < options.threads(); worker++) {
+            Random random = new Random(options.seed() + worker);
+            long firstRequestAt = start + (options.rate() > 0 ? worker * intervalNanos() / options.threads() : 0);
+            if (asyncClientExecutor != null) {
+                scheduleAsync(workload, baseUrl, random, firstRequestAt, end, finished);
+                continue;
+            }
+
+            Thread.Builder thread = options.clientThreads() == LoadTestOptions.ClientThreads.VIRTUAL
+                    ? Thread.ofVirtual().name("load-" + worker)
+                    : Thread.ofPlatform().name("load-" + worker).daemon(true);
+            thread.start(() -> {
+                try {
+                    runWorker(workload, baseUrl, random, firstRequestAt, end);
+                } finally {
+                    finished.countDown();
+                }
+            });
+        }
+
+        sleepUntil(measureFrom);
+        stats.values().forEach(EndpointStats::reset);
+        if (!finished.await(end - System.nanoTime() + REQUEST_TIMEOUT.toNanos(), TimeUnit.NANOSECONDS)) {
+            System.out.println("Не все потоки нагрузки завершились вовремя");
+        }
+    }
+
+    private void runWorker(Workload workload, String baseUrl, Random random, long firstRequestAt, long end) {
+        long intended = firstRequestAt;
+        while (true) {
+            if (options.rate() > 0) {
+                sleepUntil(intended);
+            }
+            long sent = options.rate() > 0 ? intended : System.nanoTime();
+            if (sent >= end) {
+                return;
+            }
+
+            Workload.Call call = workload.prepare(workload.next(random), random);
+            int status = send(baseUrl, call);
+            long latency = System.nanoTime() - sent;
+            stats.get(call.name()).record(latency, status);
+            stats.get(TOTAL).record(latency, status);
+            intended += intervalNanos();
+        }
+    }
+
+    private void scheduleAsync(Workload workload, String baseUrl, Random random, long intended, long end,
+                               CountDownLatch finished) {
+        long delay = options.rate() > 0 ? intended - System.nanoTime() : 0;
+        Runnable next = () -> sendAsync(workload, baseUrl, random, intended, end, finished);
+        if (delay > 0) {
+            asyncClientExecutor.schedule(next, delay, TimeUnit.NANOSECONDS);
+        } else {
+            asyncClientExecutor.execute(next);
+        }
+    }
+
+    private void sendAsync(Workload workload, String baseUrl, Random random, long intended, long end,
+                           CountDownLatch finished) {
+        long sent = options.rate() > 0 ? intended : System.nanoTime();
+        if (sent >= end) {
+            finished.countDown();
+            return;
+        }
+
+        Workload.Call call = workload.prepare(workload.next(random), random);
+        client.sendAsync(request(baseUrl, call), HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> response == null ? 0 : response.statusCode())
+                .thenAccept(status -> {
+                    long latency = System.nanoTime() - sent;
+                    stats.get(call.name()).record(latency, status);
+                    stats.get(TOTAL).record(latency, status);
+                    scheduleAsync(workload, baseUrl, random, intended + intervalNanos(), end, finished);
+                });
+    }
+
+    private int send(String baseUrl, Workload.Call call) {
+        try {
+            return client.send(request(baseUrl, call), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private HttpRequest request(String baseUrl, Workload.Call call) {
+        HttpRequest.BodyPublisher body = call.body() == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(call.body());
+        return HttpRequest.newBuilder(URI.create(baseUrl + call.path()))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(call.method(), body)
+                .build();
+    }
+
+    private void report() throws IOException {
+        double seconds = options.duration().toMillis() / 1000.0;
+        List<EndpointStats.Report> reports = stats.values().stream()
+                .map(endpoint -> endpoint.report(seconds))
+                .toList();
+
+        System.out.printf("%-45s %10s %8s %10s %9s %9s %9s %9s%n",
+                "Запрос", "Всего", "Ошибки", "Запр./с", "p50, мс", "p99, мс", "p999, мс", "max, мс");
+        for (EndpointStats.Report report : reports) {
+            System.out.printf("%-45s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    report.endpoint(), report.requests(), report.errors(), report.throughput(),
+                    report.p50(), report.p99(), report.p999(), report.max());
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scenario", options.scenario());
+        result.put("threads", options.threads());
+        result.put("clientThreads", options.clientThreads());
+        result.put("rate", options.rate());
+        result.put("durationSeconds", options.duration().toSeconds());
+        result.put("films", options.films());
+        result.put("users", options.users());
+        result.put("applicationArgs", options.applicationArgs());
+        result.put("endpoints", reports);
+        Files.createDirectories(options.report().getParent());
+        objectMapper.writeValue(options.report().toFile(), result);
+        System.out.println("Отчет сохранен в " + options.report());
+    }
+
+    private long intervalNanos() {
+        return options.rate() > 0 ? TimeUnit.SECONDS.toNanos(options.threads()) / options.rate() : 0;
+    }
+
+    private String databaseUrl() {
+        return "jdbc:h2:file:" + options.database();
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static void addDefault(List<String> args, String key, String value) {
+        if (args.stream().noneMatch(arg -> arg.startsWith("--" + key + "="))) {
+            args.add("--" + key + "=" + value);
+        }
+    }
+}
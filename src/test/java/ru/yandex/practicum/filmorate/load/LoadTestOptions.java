@@ -0,0 +1,89 @@
+package ru.yandex.practicum.filmorate.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public record LoadTestOptions(String scenario,
+                              Duration duration,
+                              Duration warmup,
+                              int threads,
+                              int rate,
+                              int films,
+                              int users,
+                              int likesPerUser,
+                              int friendsPerUser,
+                              int reviewsPerFilm,
+                              double zipfExponent,
+                              long seed,
+                              ClientThreads clientThreads,
+                              Path database,
+                              Path report,
+                              List<String> applicationArgs) {
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Аргумент должен иметь вид --ключ=значение: " + arg);
+            }
+            String key = arg.substring(2, separator);
+            if (key.contains(".")) {
+                applicationArgs.add(arg);
+            } else {
+                options.put(key, arg.substring(separator + 1));
+            }
+        }
+
+        String scenario = options.getOrDefault("scenario", "read-heavy");
+        LoadTestOptions parsed = new LoadTestOptions(
+                scenario,
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5"))),
+                Integer.parseInt(options.getOrDefault("threads", "16")),
+                Integer.parseInt(options.getOrDefault("rate", "0")),
+                Integer.parseInt(options.getOrDefault("films", "10000")),
+                Integer.parseInt(options.getOrDefault("users", "5000")),
+                Integer.parseInt(options.getOrDefault("likesPerUser", "20")),
+                Integer.parseInt(options.getOrDefault("friendsPerUser", "10")),
+                Integer.parseInt(options.getOrDefault("reviewsPerFilm", "2")),
+                Double.parseDouble(options.getOrDefault("zipfExponent", "1.1")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                ClientThreads.parse(options.getOrDefault("clientThreads", "platform")),
+                Path.of(options.getOrDefault("db", "target/load/filmorate")).toAbsolutePath(),
+                Path.of(options.getOrDefault("report", "target/load-report-" + Path.of(scenario).getFileName()
+                        .toString().replace(".jsonl", "") + ".json")).toAbsolutePath(),
+                List.copyOf(applicationArgs));
+
+        options.keySet().removeAll(List.of("scenario", "duration", "warmup", "threads", "rate", "films", "users",
+                "likesPerUser", "friendsPerUser", "reviewsPerFilm", "zipfExponent", "seed", "clientThreads", "db",
+                "report"));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Неизвестные параметры нагрузочного теста: " + options.keySet());
+        }
+        if (parsed.threads() <= 0) {
+            throw new IllegalArgumentException("Число потоков должно быть положительным: " + parsed.threads());
+        }
+        return parsed;
+    }
+
+    public enum ClientThreads {
+        PLATFORM,
+        VIRTUAL,
+        ASYNC;
+
+        private static ClientThreads parse(String value) {
+            for (ClientThreads mode : values()) {
+                if (mode.name().equalsIgnoreCase(value)) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException("Режим клиентов должен быть platform, virtual или async: " + value);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ru.yandex.practicum.filmorate.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class ThreadModeBenchmark {
+    private static final String VIRTUAL_THREADS = "spring.threads.virtual.enabled";
+    private static final String TOTAL = "*";
+    private static final List<String> MODES = List.of("platform", "virtual");
+
+    private ThreadModeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> harnessArgs = new ArrayList<>(Arrays.stream(args)
+                .filter(arg -> !arg.startsWith("--" + VIRTUAL_THREADS + "="))
+                .toList());
+        addDefault(harnessArgs, "threads", "5000");
+        addDefault(harnessArgs, "clientThreads", "async");
+        LoadTestOptions options = LoadTestOptions.parse(harnessArgs.toArray(String[]::new));
+        harnessArgs.removeIf(arg -> arg.startsWith("--report="));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> totals = new LinkedHashMap<>();
+        for (String mode : MODES) {
+            Path report = withSuffix(options.report(), mode);
+            System.out.printf("%nПотоки приложения: %s%n", mode);
+            int exitCode = runHarness(harnessArgs, mode, report);
+            if (exitCode != 0) {
+                throw new IllegalStateException("Нагрузочный тест в режиме " + mode
+                        + " завершился с кодом " + exitCode);
+            }
+
+            for (JsonNode endpoint : objectMapper.readTree(report.toFile()).get("endpoints")) {
+                if (endpoint.get("endpoint").asText().equals(TOTAL)) {
+                    totals.put(mode, endpoint);
+                }
+            }
+        }
+
+        System.out.printf("%nСценарий %s, %d одновременных клиентов%n", options.scenario(), options.threads());
+        System.out.printf("%-10s %10s %8s %10s %9s %9s %9s%n",
+                "Потоки", "Всего", "Ошибки", "Запр./с", "p50, мс", "p99, мс", "p999, мс");
+        totals.forEach((mode, total) -> System.out.printf("%-10s %10d %8d %10.1f %9.2f %9.2f %9.2f%n",
+                mode, total.get("requests").asLong(), total.get("errors").asLong(),
+                total.get("throughput").asDouble(), total.get("p50").asDouble(), total.get("p99").asDouble(),
+                total.get("p999").asDouble()));
+    }
+
+    private static int runHarness(List<String> harnessArgs, String mode, Path report) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-classpath");
+        command.add(System.getProperty("java.class.path"));
+        command.add(LoadTestHarness.class.getName());
+        command.addAll(harnessArgs);
+        command.add("--" + VIRTUAL_THREADS + "=" + mode.equals("virtual"));
+        command.add("--report=" + report);
+
+        return new ProcessBuilder(command)
+                .inheritIO()
+                .start()
+                .waitFor();
+    }
+
+    private static Path withSuffix(Path report, String mode) {
+        String name = report.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        String suffixed = extension < 0
+                ? name + "-" + mode
+                : name.substring(0, extension) + "-" + mode + name.substring(extension);
+        return report.resolveSibling(suffixed);
+    }
+
+    private static void addDefault(List<String> args, String key, String value) {
+        if (args.stream().noneMatch(arg -> arg.startsWith("--" + key + "="))) {
+            args.add("--" + key + "=" + value);
+        }
+    }
+}
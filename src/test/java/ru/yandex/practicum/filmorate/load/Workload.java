@@ -0,0 +1,152 @@
+package ru.yandex.practicum.filmorate.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.yandex.practicum.filmorate.benchmark.SyntheticDataSet;
+import ru.yandex.practicum.filmorate.benchmark.ZipfDistribution;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class Workload {
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(\\w+)}");
+    private static final String[] SEARCH_QUERIES = {"город", "ноч", "звезда 1", "режиссер 4", "ветер"};
+    private static final int GENRES = 6;
+
+    private final List<WorkloadRequest> requests;
+    private final int[] cumulativeWeights;
+    private final SyntheticDataSet dataSet;
+    private final ZipfDistribution filmPopularity;
+    private final ZipfDistribution userActivity;
+    private final long hotFilmId;
+
+    private Workload(List<WorkloadRequest> requests, SyntheticDataSet dataSet, double zipfExponent) {
+        this.requests = requests;
+        this.cumulativeWeights = new int[requests.size()];
+        int sum = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            sum += requests.get(i).weight();
+            cumulativeWeights[i] = sum;
+        }
+        this.dataSet = dataSet;
+        this.filmPopularity = new ZipfDistribution(dataSet.filmIds().length, zipfExponent);
+        this.userActivity = new ZipfDistribution(dataSet.userIds().length, zipfExponent);
+        this.hotFilmId = dataSet.filmIds()[0];
+    }
+
+    public static Workload load(String scenario, ObjectMapper objectMapper, SyntheticDataSet dataSet,
+                                double zipfExponent) {
+        List<WorkloadRequest> requests = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(open(scenario), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    requests.add(objectMapper.readValue(line, WorkloadRequest.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать сценарий нагрузки " + scenario, e);
+        }
+
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("Сценарий нагрузки " + scenario + " не содержит запросов");
+        }
+        return new Workload(requests, dataSet, zipfExponent);
+    }
+
+    public List<WorkloadRequest> requests() {
+        return requests;
+    }
+
+    public WorkloadRequest next(Random random) {
+        int point = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return requests.get(i);
+            }
+        }
+        throw new IllegalStateException("Не удалось выбрать запрос нагрузки");
+    }
+
+    public Call prepare(WorkloadRequest request, Random random) {
+        Map<String, String> values = new HashMap<>();
+        String path = substitute(request.path(), values, random, true);
+        String body = request.body() == null ? null : substitute(request.body().toString(), values, random, false);
+        return new Call(request.name(), request.method(), path, body);
+    }
+
+    private String substitute(String template, Map<String, String> values, Random random, boolean encode) {
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            String value = values.get(matcher.group(1));
+            if (value == null) {
+                value = value(matcher.group(1), values, random);
+                values.put(matcher.group(1), value);
+            }
+            matcher.appendReplacement(result, Matcher.quoteReplacement(
+                    encode ? URLEncoder.encode(value, StandardCharsets.UTF_8) : value));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private String value(String placeholder, Map<String, String> values, Random random) {
+        return switch (placeholder) {
+            case "filmId" -> String.valueOf(dataSet.filmIds()[filmPopularity.sample(random)]);
+            case "hotFilmId" -> String.valueOf(hotFilmId);
+            case "userId" -> String.valueOf(randomUserId(random));
+            case "otherUserId" -> String.valueOf(otherUserId(
+                    Long.parseLong(values.computeIfAbsent("userId", key -> value(key, values, random))), random));
+            case "directorId" -> String.valueOf(pick(dataSet.directorIds(), random));
+            case "reviewId" -> String.valueOf(pick(dataSet.reviewIds(), random));
+            case "genreId" -> String.valueOf(1 + random.nextInt(GENRES));
+            case "year" -> String.valueOf(1950 + random.nextInt(70));
+            case "query" -> SEARCH_QUERIES[random.nextInt(SEARCH_QUERIES.length)];
+            default -> throw new IllegalArgumentException("Неизвестная подстановка в сценарии: {" + placeholder + "}");
+        };
+    }
+
+    private long randomUserId(Random random) {
+        return dataSet.userIds()[userActivity.sample(random)];
+    }
+
+    private long otherUserId(long userId, Random random) {
+        long[] userIds = dataSet.userIds();
+        int index = random.nextInt(userIds.length);
+        return userIds[index] != userId ? userIds[index] : userIds[(index + 1) % userIds.length];
+    }
+
+    private static long pick(long[] ids, Random random) {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    private static InputStream open(String scenario) throws IOException {
+        Path path = Path.of(scenario);
+        if (Files.isRegularFile(path)) {
+            return Files.newInputStream(path);
+        }
+
+        InputStream resource = Workload.class.getResourceAsStream("/load/" + scenario + ".jsonl");
+        if (resource == null) {
+            throw new IllegalArgumentException("Сценарий нагрузки не найден: " + scenario);
+        }
+        return resource;
+    }
+
+    public record Call(String name, String method, String path, String body) {
+    }
+}
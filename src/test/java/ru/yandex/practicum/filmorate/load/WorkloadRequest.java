@@ -0,0 +1,14 @@
+package ru.yandex.practicum.filmorate.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+public record WorkloadRequest(String name, String method, String path, JsonNode body, int weight) {
+    public WorkloadRequest {
+        if (name == null || method == null || path == null) {
+            throw new IllegalArgumentException("У запроса нагрузки должны быть заданы name, method и path");
+        }
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Вес запроса " + name + " должен быть положительным: " + weight);
+        }
+    }
+}